@@ -0,0 +1,111 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.main.entitydata;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up player configs by UUID in {@link UuidStore}, against a Guava cache configured the same way
+ * the player cache previously was. Every lookup is a hit, as is the case for nearly every lookup while rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidStoreBenchmark {
+	private static final int LOOKUPS = 4096;
+
+	@Param({"16", "128", "1024"})
+	public int players;
+
+	private UuidStore<Object> store;
+	private LoadingCache<UUID, Object> guavaCache;
+	private UUID[] lookups;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		store = new UuidStore<>(uuid -> new Object(), value -> {}, 15);
+		guavaCache = CacheBuilder.newBuilder()
+				.expireAfterAccess(Duration.ofMinutes(15))
+				.removalListener(notification -> {})
+				.build(new CacheLoader<>() {
+					@Override
+					public @NotNull Object load(@NotNull UUID key) {
+						return new Object();
+					}
+				});
+
+		Random random = new Random(0);
+		UUID[] ids = new UUID[players];
+		for(int i = 0; i < players; i++) {
+			ids[i] = new UUID(random.nextLong(), random.nextLong());
+			store.getOrCreate(ids[i]);
+			guavaCache.getUnchecked(ids[i]);
+		}
+		lookups = new UUID[LOOKUPS];
+		for(int i = 0; i < LOOKUPS; i++) {
+			// copy the UUID, as callers typically look up by a UUID instance separate from the stored key
+			UUID id = ids[random.nextInt(players)];
+			lookups[i] = new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void uuidStore(Blackhole blackhole) {
+		for(UUID id : lookups) {
+			blackhole.consume(store.get(id));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void guavaCache(Blackhole blackhole) {
+		for(UUID id : lookups) {
+			blackhole.consume(guavaCache.getIfPresent(id));
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	@OperationsPerInvocation(LOOKUPS)
+	public void uuidStoreContended(Blackhole blackhole) {
+		uuidStore(blackhole);
+	}
+
+	@Benchmark
+	@Threads(4)
+	@OperationsPerInvocation(LOOKUPS)
+	public void guavaCacheContended(Blackhole blackhole) {
+		guavaCache(blackhole);
+	}
+}
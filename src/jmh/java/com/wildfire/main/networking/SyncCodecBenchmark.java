@@ -0,0 +1,92 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.main.networking;
+
+import com.wildfire.main.Gender;
+import com.wildfire.main.entitydata.Breasts;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.util.Uuids;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding and decoding player sync packets, and the breast settings codec they contain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncCodecBenchmark {
+	private ByteBuf encodedPacket, encodedBreasts, scratch;
+	private ClientboundSyncPacket packet;
+	private Breasts breasts;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		// build the packet by hand, as creating one from a PlayerConfig requires the game to be running
+		encodedPacket = Unpooled.buffer();
+		Uuids.PACKET_CODEC.encode(encodedPacket, new UUID(0x1234_5678_9ABCL, 0xDEF0_1234_5678L));
+		Gender.CODEC.encode(encodedPacket, Gender.FEMALE);
+		PacketCodecs.FLOAT.encode(encodedPacket, 0.6f);
+		PacketCodecs.BOOLEAN.encode(encodedPacket, true);
+		PacketCodecs.FLOAT.encode(encodedPacket, 1.1f);
+		AbstractSyncPacket.BreastPhysics.CODEC.encode(encodedPacket, new AbstractSyncPacket.BreastPhysics(true, true, 0.34f, 0.75f));
+		encodedBreasts = Unpooled.buffer();
+		PacketCodecs.FLOAT.encode(encodedBreasts, 0.1f);
+		PacketCodecs.FLOAT.encode(encodedBreasts, -0.05f);
+		PacketCodecs.FLOAT.encode(encodedBreasts, 0.02f);
+		PacketCodecs.BOOLEAN.encode(encodedBreasts, false);
+		PacketCodecs.FLOAT.encode(encodedBreasts, 0.04f);
+		encodedPacket.writeBytes(encodedBreasts, encodedBreasts.readerIndex(), encodedBreasts.readableBytes());
+
+		packet = ClientboundSyncPacket.CODEC.decode(encodedPacket.duplicate());
+		breasts = Breasts.CODEC.decode(encodedBreasts.duplicate());
+		scratch = Unpooled.buffer(256);
+	}
+
+	@Benchmark
+	public ClientboundSyncPacket decodePacket() {
+		return ClientboundSyncPacket.CODEC.decode(encodedPacket.duplicate());
+	}
+
+	@Benchmark
+	public int encodePacket() {
+		scratch.clear();
+		ClientboundSyncPacket.CODEC.encode(scratch, packet);
+		return scratch.writerIndex();
+	}
+
+	@Benchmark
+	public Breasts decodeBreasts() {
+		return Breasts.CODEC.decode(encodedBreasts.duplicate());
+	}
+
+	@Benchmark
+	public int encodeBreasts() {
+		scratch.clear();
+		Breasts.CODEC.encode(scratch, breasts);
+		return scratch.writerIndex();
+	}
+}
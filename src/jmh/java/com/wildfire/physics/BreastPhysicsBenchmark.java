@@ -0,0 +1,119 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a single client tick of breast physics for a crowd of entities, including both the per-entity
+ * target calculations and the batched spring integration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreastPhysicsBenchmark {
+	private static final int TRACE_LENGTH = 2048;
+
+	@Param({"1", "16", "128", "1024"})
+	public int entities;
+
+	@Param({"mixed", "idle"})
+	public String trace;
+
+	@Param({"ANALYTIC", "SUBSTEP"})
+	public SpringIntegrator integrator;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private BreastPhysics[] left, right;
+	private PhysicsInput[] inputs;
+	private MotionTrace[] traces;
+	private int tick;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		PhysicsWorld.INSTANCE.setIntegrator(integrator);
+		PhysicsWorld.INSTANCE.setParallel(parallel);
+		left = new BreastPhysics[entities];
+		right = new BreastPhysics[entities];
+		inputs = new PhysicsInput[entities];
+		traces = new MotionTrace[entities];
+		for(int i = 0; i < entities; i++) {
+			left[i] = new BreastPhysics(i);
+			right[i] = new BreastPhysics(~i);
+			inputs[i] = MotionTrace.newInput();
+			traces[i] = "idle".equals(trace) ? MotionTrace.idle(TRACE_LENGTH) : MotionTrace.mixed(i, TRACE_LENGTH);
+		}
+		// run through a full trace once, such that all slots are allocated and idle entities have had a chance
+		// to settle before measuring
+		for(int i = 0; i < TRACE_LENGTH; i++) {
+			tick(null);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for(int i = 0; i < entities; i++) {
+			left[i].release();
+			right[i].release();
+		}
+		// releases are only processed on the next step
+		PhysicsWorld.INSTANCE.step();
+		PhysicsWorld.INSTANCE.setParallel(false);
+	}
+
+	@Benchmark
+	public void tick(Blackhole blackhole) {
+		int t = tick++;
+		for(int i = 0; i < entities; i++) {
+			PhysicsInput input = inputs[i];
+			traces[i].apply(t, input);
+			PhysicsWorld.INSTANCE.submit(left[i], input, 1);
+			PhysicsWorld.INSTANCE.submit(right[i], input, 1);
+		}
+		PhysicsWorld.INSTANCE.step();
+		if(blackhole != null) {
+			blackhole.consume(left[0].getPositionY());
+		}
+	}
+
+	/**
+	 * Catching up on several skipped ticks at once, as is done for entities using {@link PhysicsLod#REDUCED} physics
+	 */
+	@Benchmark
+	@OperationsPerInvocation(4)
+	public void catchUp(Blackhole blackhole) {
+		int t = (tick += 4);
+		for(int i = 0; i < entities; i++) {
+			PhysicsInput input = inputs[i];
+			traces[i].apply(t, input);
+			PhysicsWorld.INSTANCE.submit(left[i], input, 4);
+			PhysicsWorld.INSTANCE.submit(right[i], input, 4);
+		}
+		PhysicsWorld.INSTANCE.step();
+		blackhole.consume(left[0].getPositionY());
+	}
+}
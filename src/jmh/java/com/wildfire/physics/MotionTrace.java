@@ -0,0 +1,134 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+/**
+ * Synthetic, deterministic entity motion used to drive physics benchmarks without a running game.
+ */
+public final class MotionTrace {
+	public final double[] x, y, z, velocityY;
+	public final float[] yawRotation, limbPos, limbSpeed;
+	public final boolean[] crouching, swinging;
+	public final int length;
+
+	private MotionTrace(int length) {
+		this.length = length;
+		this.x = new double[length];
+		this.y = new double[length];
+		this.z = new double[length];
+		this.velocityY = new double[length];
+		this.yawRotation = new float[length];
+		this.limbPos = new float[length];
+		this.limbSpeed = new float[length];
+		this.crouching = new boolean[length];
+		this.swinging = new boolean[length];
+	}
+
+	/**
+	 * Generate a trace of an entity walking around, turning, jumping, crouching and swinging its arm at
+	 * pseudo-random intervals
+	 */
+	public static MotionTrace mixed(long seed, int length) {
+		MotionTrace trace = new MotionTrace(length);
+		java.util.Random random = new java.util.Random(seed);
+		double x = 0, y = 64, z = 0, velY = 0;
+		float yaw = 0, limb = 0;
+		boolean grounded = true;
+		for(int i = 0; i < length; i++) {
+			boolean walking = (i / 40) % 3 != 2;
+			float turn = walking ? (float) random.nextGaussian() * 6f : 0f;
+			yaw += turn;
+			if(walking) {
+				double speed = 0.2;
+				x += -Math.sin(Math.toRadians(yaw)) * speed;
+				z += Math.cos(Math.toRadians(yaw)) * speed;
+				limb += 0.6f;
+			}
+			if(grounded && random.nextInt(60) == 0) {
+				velY = 0.42;
+				grounded = false;
+			}
+			if(!grounded) {
+				y += velY;
+				velY = (velY - 0.08) * 0.98;
+				if(y <= 64) {
+					y = 64;
+					velY = 0;
+					grounded = true;
+				}
+			}
+
+			trace.x[i] = x;
+			trace.y[i] = y;
+			trace.z[i] = z;
+			trace.velocityY[i] = velY;
+			trace.yawRotation[i] = -(turn / 15f);
+			trace.limbPos[i] = limb;
+			trace.limbSpeed[i] = walking ? 0.8f : 0f;
+			trace.crouching[i] = (i / 100) % 4 == 3;
+			trace.swinging[i] = (i % 50) < 6;
+		}
+		return trace;
+	}
+
+	/**
+	 * Generate a trace of an entity standing entirely still
+	 */
+	public static MotionTrace idle(int length) {
+		MotionTrace trace = new MotionTrace(length);
+		for(int i = 0; i < length; i++) {
+			trace.y[i] = 64;
+		}
+		return trace;
+	}
+
+	/**
+	 * Prepare the provided input for use with the trace, filling in any values that aren't set per-tick
+	 */
+	public static PhysicsInput newInput() {
+		PhysicsInput input = new PhysicsInput();
+		input.bustSize = 0.6f;
+		input.bounceMultiplier = 0.34f;
+		input.floppiness = 0.75f;
+		input.canHaveBreasts = true;
+		input.handSwingDuration = 6;
+		input.mainArmRight = true;
+		input.swingingArmRight = true;
+		return input;
+	}
+
+	/**
+	 * Copy the state at the provided tick into the given input
+	 */
+	public void apply(int tick, PhysicsInput input) {
+		int i = tick % length;
+		input.x = x[i];
+		input.y = y[i];
+		input.z = z[i];
+		input.velocityY = velocityY[i];
+		input.velocityLengthSq = velocityY[i] * velocityY[i] + (limbSpeed[i] > 0 ? 0.04 : 0);
+		input.yawRotation = yawRotation[i];
+		input.limbPos = limbPos[i];
+		input.limbSpeed = limbSpeed[i];
+		input.pose = crouching[i] ? PhysicsInput.POSE_CROUCHING : PhysicsInput.POSE_OTHER;
+		input.age = tick;
+		input.handSwinging = swinging[i];
+		input.handSwingTicks = swinging[i] ? i % 50 : 0;
+	}
+}
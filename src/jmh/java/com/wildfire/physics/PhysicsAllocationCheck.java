@@ -0,0 +1,102 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.physics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Regression check ensuring that the per-tick physics path doesn't allocate, covering both applying a
+ * {@link PhysicsInput} snapshot to each breast and the batched spring integration in {@link PhysicsWorld#step()}.</p>
+ *
+ * <p>Run with {@code ./gradlew checkPhysicsAllocations}; this exits with a non-zero status code if the measured
+ * allocation rate exceeds {@link #MAX_BYTES_PER_TICK} for any integrator, after giving the JIT a chance to warm up.</p>
+ *
+ * <p>Capturing the snapshot from an entity in {@link EntityPhysicsAdapter} requires a running game, and as such
+ * isn't covered here; the motion traces used instead fill in the same fields.</p>
+ */
+public final class PhysicsAllocationCheck {
+	private static final int ENTITIES = 64, TRACE_LENGTH = 2048;
+	private static final int WARMUP_TICKS = 20_000, MEASURED_TICKS = 50_000;
+	// leave a tiny bit of headroom for anything allocated by the measurement itself
+	private static final double MAX_BYTES_PER_TICK = 0.01;
+
+	private PhysicsAllocationCheck() {
+		throw new UnsupportedOperationException();
+	}
+
+	public static void main(String[] args) {
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if(!threads.isThreadAllocatedMemorySupported()) {
+			System.err.println("Thread allocation tracking isn't supported by this JVM");
+			System.exit(2);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		// half of the entities are moving around, and half are standing still such that their physics go to sleep
+		BreastPhysics[] left = new BreastPhysics[ENTITIES], right = new BreastPhysics[ENTITIES];
+		PhysicsInput[] inputs = new PhysicsInput[ENTITIES];
+		MotionTrace[] traces = new MotionTrace[ENTITIES];
+		for(int i = 0; i < ENTITIES; i++) {
+			left[i] = new BreastPhysics(i);
+			right[i] = new BreastPhysics(~i);
+			inputs[i] = MotionTrace.newInput();
+			traces[i] = i % 2 == 0 ? MotionTrace.mixed(i, TRACE_LENGTH) : MotionTrace.idle(TRACE_LENGTH);
+		}
+
+		boolean failed = false;
+		long threadId = Thread.currentThread().threadId();
+		for(SpringIntegrator integrator : SpringIntegrator.values()) {
+			PhysicsWorld.INSTANCE.setIntegrator(integrator);
+			// every 4th tick catches up on several ticks at once, as is done for reduced rate physics
+			for(int tick = 0; tick < WARMUP_TICKS; tick++) {
+				tick(left, right, inputs, traces, tick);
+			}
+
+			long before = threads.getThreadAllocatedBytes(threadId);
+			for(int tick = 0; tick < MEASURED_TICKS; tick++) {
+				tick(left, right, inputs, traces, tick);
+			}
+			long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+			double perTick = (double) allocated / MEASURED_TICKS;
+			System.out.printf("%s: %d bytes allocated over %d ticks of %d entities (%.4f bytes/tick, checksum %.3f)%n",
+					integrator, allocated, MEASURED_TICKS, ENTITIES, perTick, left[0].getPositionY() + right[0].getPositionY());
+			if(perTick > MAX_BYTES_PER_TICK) {
+				System.err.printf("Physics with %s allocates %.4f bytes per tick, expected at most %.4f%n",
+						integrator, perTick, MAX_BYTES_PER_TICK);
+				failed = true;
+			}
+		}
+
+		if(failed) {
+			System.exit(1);
+		}
+	}
+
+	private static void tick(BreastPhysics[] left, BreastPhysics[] right, PhysicsInput[] inputs, MotionTrace[] traces, int tick) {
+		int ticks = tick % 4 == 0 ? 4 : 1;
+		for(int i = 0; i < left.length; i++) {
+			traces[i].apply(tick, inputs[i]);
+			PhysicsWorld.INSTANCE.submit(left[i], inputs[i], ticks);
+			PhysicsWorld.INSTANCE.submit(right[i], inputs[i], ticks);
+		}
+		PhysicsWorld.INSTANCE.step();
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.physics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>Headless behavior checks for the physics kernel, driving {@link BreastPhysics} through {@link PhysicsWorld}
+ * with fixed seeds and fixed {@link PhysicsInput} sequences.</p>
+ *
+ * <p>This checks that:</p>
+ * <ul>
+ *     <li>the same seed and inputs always produce the exact same output, regardless of integrator or of stepping
+ *     in parallel</li>
+ *     <li>physics settle and go to sleep once the entity stops moving</li>
+ *     <li>the vertical position stays within its bounds, even when catching up on skipped ticks</li>
+ *     <li>both spring integrators agree with each other for a constant target</li>
+ *     <li>frozen physics follow changes to their rest pose</li>
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew checkPhysicsBehavior}; this exits with a non-zero status code if any check fails.</p>
+ */
+public final class PhysicsBehaviorCheck {
+	private static final long SEED = 0x5EED;
+	private static final int TRACE_LENGTH = 2048;
+	// how long physics may take to go to sleep after the entity stops moving
+	private static final int MAX_SETTLE_TICKS = 600;
+	// the integrators only differ by floating point rounding
+	private static final float INTEGRATOR_TOLERANCE = 1.0E-4F;
+	// physics go to sleep anywhere close enough to their target, which depends on how many ticks are stepped at once
+	private static final float CATCH_UP_TOLERANCE = 1.0E-3F;
+	private static final int CATCH_UP_TICKS = 8;
+	private static final float MIN_POSITION_Y = -0.5f, MAX_POSITION_Y = 1.5f;
+
+	private static final PhysicsWorld WORLD = PhysicsWorld.INSTANCE;
+
+	private static int failures;
+
+	private PhysicsBehaviorCheck() {
+		throw new UnsupportedOperationException();
+	}
+
+	public static void main(String[] args) {
+		checkDeterminism();
+		checkSettling();
+		checkBounds();
+		checkIntegratorsAgree();
+		checkFreeze();
+
+		if(failures > 0) {
+			System.err.println(failures + " physics behavior check(s) failed");
+			System.exit(1);
+		}
+		System.out.println("All physics behavior checks passed");
+	}
+
+	/**
+	 * Run the same trace twice with every integrator, both serially and in parallel, and compare the exact output
+	 */
+	private static void checkDeterminism() {
+		for(SpringIntegrator integrator : SpringIntegrator.values()) {
+			WORLD.setIntegrator(integrator);
+			float[] expected = record(false);
+			check(Arrays.equals(expected, record(false)), integrator + ": repeated runs differ");
+			check(Arrays.equals(expected, record(true)), integrator + ": parallel run differs from serial run");
+		}
+		WORLD.setParallel(false);
+	}
+
+	/**
+	 * @return The output of a single breast on every tick of a fixed trace, with every 4th tick catching up on
+	 *         several ticks at once
+	 */
+	private static float[] record(boolean parallel) {
+		WORLD.setParallel(parallel);
+		BreastPhysics physics = new BreastPhysics(SEED);
+		MotionTrace trace = MotionTrace.mixed(SEED, TRACE_LENGTH);
+		PhysicsInput input = MotionTrace.newInput();
+		float[] output = new float[TRACE_LENGTH * 4];
+		for(int tick = 0; tick < TRACE_LENGTH; tick++) {
+			trace.apply(tick, input);
+			WORLD.submit(physics, input, tick % 4 == 0 ? 4 : 1);
+			WORLD.step();
+			output[tick * 4] = physics.getPositionY();
+			output[tick * 4 + 1] = physics.getPositionX();
+			output[tick * 4 + 2] = physics.getBounceRotation();
+			output[tick * 4 + 3] = physics.getBreastSize(1f);
+		}
+		reset(physics);
+		return output;
+	}
+
+	/**
+	 * Move around for a while and then stand still, which should settle both breasts and put them to sleep
+	 */
+	private static void checkSettling() {
+		for(SpringIntegrator integrator : SpringIntegrator.values()) {
+			WORLD.setIntegrator(integrator);
+			BreastPhysics left = new BreastPhysics(SEED), right = new BreastPhysics(~SEED);
+			MotionTrace trace = MotionTrace.mixed(SEED, 300);
+			PhysicsInput input = MotionTrace.newInput();
+			for(int tick = 0; tick < trace.length; tick++) {
+				trace.apply(tick, input);
+				tick(left, right, input, 1);
+			}
+
+			// stand still where the trace ended
+			input.velocityY = input.velocityLengthSq = 0;
+			input.yawRotation = input.limbSpeed = 0;
+			input.pose = PhysicsInput.POSE_OTHER;
+			input.handSwinging = false;
+			input.handSwingTicks = 0;
+			int settledAt = -1;
+			for(int tick = 0; tick < MAX_SETTLE_TICKS && settledAt == -1; tick++) {
+				tick(left, right, input, 1);
+				if(WORLD.getSleepingCount() == 2) settledAt = tick;
+			}
+			check(settledAt != -1, integrator + ": physics didn't go to sleep within " + MAX_SETTLE_TICKS + " ticks of standing still");
+
+			// once asleep, the output must stay exactly where it settled
+			float y = left.getPositionY(), x = left.getPositionX(), rotation = left.getBounceRotation();
+			for(int tick = 0; tick < 20; tick++) {
+				tick(left, right, input, tick % 2 == 0 ? 4 : 1);
+			}
+			check(WORLD.getSleepingCount() == 2 && WORLD.getAwakeCount() == 0, integrator + ": physics woke up while standing still");
+			check(y == left.getPositionY() && x == left.getPositionX() && rotation == left.getBounceRotation(),
+					integrator + ": physics moved while asleep");
+			check(Math.abs(y - Math.clamp(input.bustSize * 1.25f, MIN_POSITION_Y, MAX_POSITION_Y)) < 1.0E-3F,
+					integrator + ": physics settled at " + y + " instead of their rest position");
+			reset(left, right);
+		}
+	}
+
+	/**
+	 * Violently move up and down to push the vertical spring against both of its bounds
+	 */
+	private static void checkBounds() {
+		for(SpringIntegrator integrator : SpringIntegrator.values()) {
+			WORLD.setIntegrator(integrator);
+			BreastPhysics left = new BreastPhysics(SEED), right = new BreastPhysics(~SEED);
+			PhysicsInput input = MotionTrace.newInput();
+			input.bustSize = 1f;
+			input.bounceMultiplier = 0.5f;
+			input.floppiness = 1f;
+			boolean hitMin = false, hitMax = false, inBounds = true;
+			for(int tick = 0; tick < 1000; tick++) {
+				// alternate between long and short bursts, so that catching up on several ticks spans both bounds
+				double offset = (tick / (tick < 500 ? 8 : 3)) % 2 == 0 ? 4 : -4;
+				input.y = 64 + offset;
+				input.velocityY = offset;
+				input.velocityLengthSq = offset * offset;
+				tick(left, right, input, tick % 4 == 0 ? 4 : 1);
+				for(BreastPhysics physics : new BreastPhysics[] { left, right }) {
+					float y = physics.getPositionY();
+					inBounds &= y >= MIN_POSITION_Y && y <= MAX_POSITION_Y;
+					hitMin |= y == MIN_POSITION_Y;
+					hitMax |= y == MAX_POSITION_Y;
+				}
+			}
+			check(inBounds, integrator + ": vertical position left [" + MIN_POSITION_Y + ", " + MAX_POSITION_Y + "]");
+			check(hitMin && hitMax, integrator + ": input didn't reach both vertical bounds (min: " + hitMin + ", max: " + hitMax + ")");
+			reset(left, right);
+		}
+	}
+
+	/**
+	 * Compare both integrators for a constant target, both on their own and when catching up on skipped ticks
+	 * in the physics world
+	 */
+	private static void checkIntegratorsAgree() {
+		Random random = new Random(SEED);
+		float[] substepPosition = new float[1], substepVelocity = new float[1];
+		float[] analyticPosition = new float[1], analyticVelocity = new float[1];
+		float worst = 0;
+		for(int i = 0; i < 10_000; i++) {
+			float floppiness = random.nextFloat();
+			float amount = 0.45f * (1f - floppiness) + 0.15f;
+			float target = random.nextFloat() * 4 - 1.5f;
+			substepPosition[0] = analyticPosition[0] = random.nextFloat() * 4 - 1.5f;
+			substepVelocity[0] = analyticVelocity[0] = random.nextFloat() * 2 - 1;
+			int ticks = 1 + random.nextInt(40);
+			SpringIntegrator.SUBSTEP.advance(substepPosition, substepVelocity, 0, target, amount, 2.25f - amount, floppiness, ticks);
+			SpringIntegrator.ANALYTIC.advance(analyticPosition, analyticVelocity, 0, target, amount, 2.25f - amount, floppiness, ticks);
+			worst = Math.max(worst, Math.abs(substepPosition[0] - analyticPosition[0]));
+			worst = Math.max(worst, Math.abs(substepVelocity[0] - analyticVelocity[0]));
+		}
+		check(worst < INTEGRATOR_TOLERANCE, "integrators differ by up to " + worst + " for a constant target");
+
+		// excite the springs, and then let them come to rest while catching up on several ticks at a time, which keeps
+		// the targets constant throughout each catch-up; violently enough to overshoot the upper vertical bound as well,
+		// which must behave the same as running every tick individually
+		for(boolean violent : new boolean[] { false, true }) {
+			float[] expected = settle(SpringIntegrator.SUBSTEP, violent, 1);
+			for(SpringIntegrator integrator : SpringIntegrator.values()) {
+				float[] actual = settle(integrator, violent, CATCH_UP_TICKS);
+				worst = 0;
+				for(int i = 0; i < expected.length; i++) {
+					worst = Math.max(worst, Math.abs(expected[i] - actual[i]));
+				}
+				check(worst < CATCH_UP_TOLERANCE, integrator + ": differs by up to " + worst + " when catching up on skipped ticks"
+						+ (violent ? " past the vertical bounds" : ""));
+			}
+		}
+	}
+
+	/**
+	 * @return The output of a single breast coming to rest after being moved around, sampled every
+	 *         {@link #CATCH_UP_TICKS} ticks
+	 */
+	private static float[] settle(SpringIntegrator integrator, boolean violent, int ticks) {
+		WORLD.setIntegrator(SpringIntegrator.SUBSTEP);
+		BreastPhysics physics = new BreastPhysics(SEED);
+		PhysicsInput input = MotionTrace.newInput();
+		if(violent) {
+			input.bustSize = 1f;
+			input.bounceMultiplier = 0.5f;
+			input.floppiness = 1f;
+			// ending on an upward movement, such that the spring only overshoots past the upper bound
+			for(int tick = 0; tick <= 40; tick++) {
+				input.y = 64 + (tick % 2 == 0 ? 4 : 0);
+				WORLD.submit(physics, input, 1);
+				WORLD.step();
+			}
+		} else {
+			MotionTrace trace = MotionTrace.mixed(SEED, 120);
+			for(int tick = 0; tick < trace.length; tick++) {
+				trace.apply(tick, input);
+				WORLD.submit(physics, input, 1);
+				WORLD.step();
+			}
+		}
+
+		WORLD.setIntegrator(integrator);
+		input.velocityY = input.velocityLengthSq = 0;
+		input.yawRotation = input.limbSpeed = 0;
+		input.handSwinging = false;
+		input.handSwingTicks = 0;
+		float[] output = new float[40 * 3];
+		for(int step = 0; step < 40; step++) {
+			for(int tick = 0; tick < CATCH_UP_TICKS; tick += ticks) {
+				WORLD.submit(physics, input, ticks);
+				WORLD.step();
+			}
+			output[step * 3] = physics.getPositionY();
+			output[step * 3 + 1] = physics.getPositionX();
+			output[step * 3 + 2] = physics.getBounceRotation();
+		}
+		reset(physics);
+		return output;
+	}
+
+	/**
+	 * Freeze physics mid-movement, and then change the settings that their rest pose depends on while frozen
+	 */
+	private static void checkFreeze() {
+		BreastPhysics physics = new BreastPhysics(SEED);
+		MotionTrace trace = MotionTrace.mixed(SEED, 100);
+		PhysicsInput input = MotionTrace.newInput();
+		for(int tick = 0; tick < trace.length; tick++) {
+			trace.apply(tick, input);
+			WORLD.submit(physics, input, 1);
+			WORLD.step();
+		}
+
+		for(float bustSize : new float[] { input.bustSize, 0.2f, 0.9f, 0.9f }) {
+			input.bustSize = bustSize;
+			physics.freeze(input);
+			WORLD.step();
+			float restY = Math.clamp(bustSize * 1.25f, MIN_POSITION_Y, MAX_POSITION_Y);
+			check(physics.getPositionY() == restY && physics.getPositionX() == 0 && physics.getBounceRotation() == 0
+					&& physics.getBreastSize(1f) == bustSize, "frozen physics aren't at their rest pose for a bust size of " + bustSize);
+		}
+
+		input.canHaveBreasts = false;
+		physics.freeze(input);
+		WORLD.step();
+		check(physics.getBreastSize(1f) == 0, "frozen physics didn't follow the entity no longer having breasts");
+		reset(physics);
+	}
+
+	private static void tick(BreastPhysics left, BreastPhysics right, PhysicsInput input, int ticks) {
+		WORLD.submit(left, input, ticks);
+		WORLD.submit(right, input, ticks);
+		WORLD.step();
+	}
+
+	/**
+	 * Release the provided physics, so that the next check starts with an empty world
+	 */
+	private static void reset(BreastPhysics... physics) {
+		for(BreastPhysics breast : physics) {
+			breast.release();
+		}
+		WORLD.step();
+	}
+
+	private static void check(boolean condition, String message) {
+		if(!condition) {
+			System.err.println("FAILED: " + message);
+			failures++;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.physics.trace.PhysicsTrace;
+import com.wildfire.physics.trace.PhysicsTraceReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * <p>Replays a recorded {@link PhysicsTrace physics trace} through the physics headlessly, reporting the time taken
+ * per tick and the resulting physics state.</p>
+ *
+ * <p>Each recorded entity is given physics seeded from its ID in the trace, such that replaying the same trace
+ * always produces the same output.</p>
+ *
+ * <p>Run with {@code ./gradlew replayTrace -Ptrace=<path>}, optionally adding {@code -Piterations=<count>} to change
+ * the number of measured passes over the trace.</p>
+ */
+public final class PhysicsTraceReplay {
+	private static final int WARMUP_ITERATIONS = 5;
+
+	private final List<Frame> frames = new ArrayList<>();
+	private final Map<Integer, Entity> entities = new TreeMap<>();
+	private int ticks, updates;
+
+	private sealed interface Frame permits InputFrame, TickFrame {
+	}
+
+	private record InputFrame(int id, int ticks, PhysicsInput input) implements Frame {
+	}
+
+	private record TickFrame() implements Frame {
+	}
+
+	private record Entity(BreastPhysics left, BreastPhysics right, PhysicsInput input) {
+		private Entity(int id) {
+			this(new BreastPhysics(id), new BreastPhysics(~id), new PhysicsInput());
+		}
+	}
+
+	private PhysicsTraceReplay(Path path) throws IOException {
+		// load the entire trace into memory upfront, such that reading the file doesn't count towards replay time
+		try(PhysicsTraceReader reader = new PhysicsTraceReader(path)) {
+			while(true) {
+				PhysicsInput input = new PhysicsInput();
+				byte type = reader.next(input);
+				if(type == PhysicsTrace.FRAME_END) break;
+				switch(type) {
+					case PhysicsTrace.FRAME_INPUT -> {
+						frames.add(new InputFrame(reader.getEntityId(), reader.getTicks(), input));
+						updates++;
+					}
+					case PhysicsTrace.FRAME_TICK -> {
+						frames.add(new TickFrame());
+						ticks++;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Run through the entire trace once, starting from a clean physics state
+	 *
+	 * @return A checksum of the physics output across every tick in the trace
+	 */
+	private double replay() {
+		for(Entity entity : entities.values()) {
+			entity.left().release();
+			entity.right().release();
+		}
+		entities.clear();
+		PhysicsWorld.INSTANCE.step();
+
+		double checksum = 0;
+		for(Frame frame : frames) {
+			switch(frame) {
+				case InputFrame update -> {
+					Entity entity = entities.computeIfAbsent(update.id(), Entity::new);
+					// reuse a single input per entity, as is done in-game
+					entity.input().copyFrom(update.input());
+					entity.left().update(entity.input(), update.ticks());
+					entity.right().update(entity.input(), update.ticks());
+				}
+				case TickFrame ignored -> {
+					PhysicsWorld.INSTANCE.step();
+					for(Entity entity : entities.values()) {
+						checksum += output(entity.left()) + output(entity.right());
+					}
+				}
+			}
+		}
+		return checksum;
+	}
+
+	private static double output(BreastPhysics physics) {
+		return physics.getPositionX() + physics.getPositionY() + physics.getBounceRotation() + physics.getBreastSize(1f);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1) {
+			System.err.println("Usage: PhysicsTraceReplay <trace file> [iterations]");
+			System.exit(1);
+		}
+		Path path = Path.of(args[0]);
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		PhysicsTraceReplay replay = new PhysicsTraceReplay(path);
+		if(replay.ticks == 0) {
+			System.err.println("Trace " + path + " contains no ticks");
+			System.exit(1);
+		}
+		System.out.printf("Loaded %s: %d ticks, %d updates%n", path, replay.ticks, replay.updates);
+
+		for(int i = 0; i < WARMUP_ITERATIONS; i++) {
+			replay.replay();
+		}
+
+		long[] times = new long[iterations];
+		double checksum = 0;
+		for(int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			checksum = replay.replay();
+			times[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+
+		long median = times[iterations / 2];
+		System.out.printf("Replay time (median of %d): %.3f ms%n", iterations, median / 1e6);
+		System.out.printf("  %.1f ns/tick, %.1f ns/update (min %.1f ns/tick, max %.1f ns/tick)%n",
+				(double) median / replay.ticks, (double) median / Math.max(replay.updates, 1),
+				(double) times[0] / replay.ticks, (double) times[iterations - 1] / replay.ticks);
+		System.out.printf("Output checksum: %.6f%n", checksum);
+
+		System.out.println("Final state:");
+		replay.entities.forEach((id, entity) -> {
+			BreastPhysics left = entity.left(), right = entity.right();
+			System.out.printf("  entity %d: left=(x=%.4f, y=%.4f, rot=%.4f, size=%.4f) right=(x=%.4f, y=%.4f, rot=%.4f, size=%.4f)%n",
+					id,
+					left.getPositionX(), left.getPositionY(), left.getBounceRotation(), left.getBreastSize(1f),
+					right.getPositionX(), right.getPositionY(), right.getBounceRotation(), right.getBreastSize(1f));
+		});
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import net.minecraft.client.model.ModelPart;
+import net.minecraft.client.render.entity.model.BipedEntityModel;
+import net.minecraft.client.render.entity.state.BipedEntityRenderState;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.MathHelper;
+import org.joml.Quaternionf;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the breast transformations applied for a single rendered entity (both sides), comparing the current
+ * implementation against a copy of the previous one, which allocated a new quaternion for every rotation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreastTransformBenchmark {
+	private static final float DEG_TO_RAD = (float) (Math.PI / 180);
+	private static final BreastSide[] SIDES = BreastSide.values();
+
+	private GenderLayer<BipedEntityRenderState, BipedEntityModel<BipedEntityRenderState>> layer;
+	private BreastRenderState breastState;
+	private ModelPart body;
+	private MatrixStack matrixStack;
+	private float age;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		layer = new GenderLayer<>(() -> null);
+		body = new ModelPart(List.of(), Map.of());
+		body.pivotY = 0.5f;
+		body.pitch = 0.1f;
+		body.yaw = -0.05f;
+
+		breastState = new BreastRenderState();
+		breastState.shouldRender = true;
+		breastState.bounceEnabled = true;
+		breastState.breathingAnimation = true;
+		breastState.breastSize = 1.1f;
+		breastState.zOffset = 0.02f;
+		breastState.breastOffsetX = 0.1f;
+		breastState.outwardAngle = 5f;
+		breastState.lPhysPositionX = 0.2f;
+		breastState.lPhysPositionY = 0.6f;
+		breastState.lPhysBounceRotation = 3f;
+		breastState.rPhysPositionX = -0.15f;
+		breastState.rPhysPositionY = 0.55f;
+		breastState.rPhysBounceRotation = -2.5f;
+
+		matrixStack = new MatrixStack();
+	}
+
+	@Benchmark
+	public void entity(Blackhole blackhole) {
+		for(BreastSide side : SIDES) {
+			matrixStack.push();
+			layer.applyBreastTransformations(breastState, body, false, 1f, age, matrixStack, side);
+			blackhole.consume(matrixStack.peek().getPositionMatrix().m30());
+			matrixStack.pop();
+		}
+		age += 0.05f;
+	}
+
+	@Benchmark
+	public void entityAllocating(Blackhole blackhole) {
+		for(BreastSide side : SIDES) {
+			matrixStack.push();
+			allocatingTransformations(breastState, body, age, matrixStack, side);
+			blackhole.consume(matrixStack.peek().getPositionMatrix().m30());
+			matrixStack.pop();
+		}
+		age += 0.05f;
+	}
+
+	/**
+	 * Copy of the transformations as they were before being changed to use a scratch quaternion, kept as a baseline
+	 */
+	private static void allocatingTransformations(BreastRenderState breastState, ModelPart body, float age, MatrixStack matrixStack, BreastSide side) {
+		matrixStack.translate(body.pivotX * 0.0625f, body.pivotY * 0.0625f, body.pivotZ * 0.0625f);
+		if(body.roll != 0.0F || body.yaw != 0.0F || body.pitch != 0.0F) {
+			matrixStack.multiply(new Quaternionf().rotationZYX(body.roll, body.yaw, body.pitch));
+		}
+
+		if(breastState.bounceEnabled) {
+			matrixStack.translate((side.isLeft ? breastState.lPhysPositionX : breastState.rPhysPositionX) / 32f, 0, 0);
+			matrixStack.translate(0, (side.isLeft ? breastState.lPhysPositionY : breastState.rPhysPositionY) / 32f, 0);
+		}
+
+		matrixStack.translate((side.isLeft ? breastState.breastOffsetX : -breastState.breastOffsetX) * 0.0625f, 0.05625f + (breastState.breastOffsetY * 0.0625f), breastState.zOffset - 0.0625f * 2f + (breastState.breastOffsetZ * 0.0625f));
+
+		if(!breastState.uniboob) {
+			matrixStack.translate(-0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
+		}
+		if(breastState.bounceEnabled) {
+			matrixStack.multiply(new Quaternionf().rotationXYZ(0, (float)((side.isLeft ? breastState.lPhysBounceRotation : breastState.rPhysBounceRotation) * (Math.PI / 180f)), 0));
+		}
+		if(!breastState.uniboob) {
+			matrixStack.translate(0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
+		}
+
+		float rotation = breastState.breastSize;
+		if(breastState.bounceEnabled) {
+			matrixStack.translate(0, -0.035f * breastState.breastSize, 0);
+			rotation -= (side.isLeft ? breastState.lPhysPositionY : breastState.rPhysPositionY) / 12f;
+		}
+
+		rotation = Math.min(rotation, breastState.breastSize + 0.2f);
+		rotation = Math.min(rotation, 1);
+
+		Quaternionf rotationTransform = new Quaternionf()
+				.rotationY((side.isLeft ? breastState.outwardAngle : -breastState.outwardAngle) * DEG_TO_RAD)
+				.rotateX(-35f * rotation * DEG_TO_RAD);
+
+		if(breastState.breathingAnimation) {
+			float f5 = -MathHelper.cos(age * 0.09F) * 0.45F + 0.45F;
+			rotationTransform.rotateX(f5 * DEG_TO_RAD);
+		}
+
+		matrixStack.multiply(rotationTransform);
+		matrixStack.scale(0.9995f, 1f, 1f);
+	}
+}
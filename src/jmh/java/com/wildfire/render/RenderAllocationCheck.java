@@ -0,0 +1,125 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import net.minecraft.client.render.OverlayTexture;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.RotationAxis;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Regression check ensuring that emitting the vertices of a breast box doesn't allocate.</p>
+ *
+ * <p>Run with {@code ./gradlew checkRenderAllocations}; this exits with a non-zero status code if the measured
+ * allocation rate exceeds {@link #MAX_BYTES_PER_CALL}, after giving the JIT a chance to warm up.</p>
+ */
+public final class RenderAllocationCheck {
+	private static final int WARMUP_CALLS = 200_000, MEASURED_CALLS = 1_000_000;
+	// leave a tiny bit of headroom for anything allocated by the measurement itself
+	private static final double MAX_BYTES_PER_CALL = 0.01;
+
+	private RenderAllocationCheck() {
+		throw new UnsupportedOperationException();
+	}
+
+	public static void main(String[] args) {
+		var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if(!threads.isThreadAllocatedMemorySupported()) {
+			System.err.println("Thread allocation tracking isn't supported by this JVM");
+			System.exit(2);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		var breast = new WildfireModelRenderer.BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.0F, false);
+		var overlay = new WildfireModelRenderer.OverlayModelBox(true, 64, 64, 17, 34, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
+		var matrixStack = new MatrixStack();
+		matrixStack.translate(12.5f, 64f, -3.25f);
+		matrixStack.multiply(RotationAxis.POSITIVE_Y.rotationDegrees(137f));
+		matrixStack.multiply(RotationAxis.POSITIVE_X.rotationDegrees(-35f));
+		var consumer = new SinkVertexConsumer();
+
+		for(int i = 0; i < WARMUP_CALLS; i++) {
+			render(breast, overlay, matrixStack, consumer);
+		}
+
+		long threadId = Thread.currentThread().threadId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for(int i = 0; i < MEASURED_CALLS; i++) {
+			render(breast, overlay, matrixStack, consumer);
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		double perCall = (double) allocated / MEASURED_CALLS;
+		System.out.printf("renderBox: %d bytes allocated over %d calls (%.4f bytes/call, checksum %.3f)%n",
+				allocated, MEASURED_CALLS, perCall, consumer.sum);
+		if(perCall > MAX_BYTES_PER_CALL) {
+			System.err.printf("renderBox allocates %.4f bytes per call, expected at most %.4f%n", perCall, MAX_BYTES_PER_CALL);
+			System.exit(1);
+		}
+	}
+
+	private static void render(WildfireModelRenderer.ModelBox breast, WildfireModelRenderer.ModelBox overlay,
+	                           MatrixStack matrixStack, VertexConsumer consumer) {
+		GenderLayer.renderBox(breast, matrixStack, consumer, 0xF000F0, OverlayTexture.DEFAULT_UV, 0xFFFFFFFF);
+		GenderLayer.renderBox(overlay, matrixStack, consumer, 0xF000F0, OverlayTexture.DEFAULT_UV, 0xFFFFFFFF);
+	}
+
+	/**
+	 * Vertex consumer which sums everything it receives, such that none of the vertex transformations can be
+	 * optimized away
+	 */
+	private static final class SinkVertexConsumer implements VertexConsumer {
+		private double sum;
+
+		@Override
+		public VertexConsumer vertex(float x, float y, float z) {
+			sum += x + y + z;
+			return this;
+		}
+
+		@Override
+		public VertexConsumer color(int red, int green, int blue, int alpha) {
+			return this;
+		}
+
+		@Override
+		public VertexConsumer texture(float u, float v) {
+			sum += u + v;
+			return this;
+		}
+
+		@Override
+		public VertexConsumer overlay(int u, int v) {
+			return this;
+		}
+
+		@Override
+		public VertexConsumer light(int u, int v) {
+			return this;
+		}
+
+		@Override
+		public VertexConsumer normal(float x, float y, float z) {
+			sum += x + y + z;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import net.minecraft.client.render.OverlayTexture;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.RotationAxis;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks transforming and emitting the vertices of a single breast box, using a pre-built matrix stack
+ * similar to what is used while rendering a player.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBoxBenchmark {
+	private static final int LIGHT = 0xF000F0;
+	private static final int COLOR = 0xFFFFFFFF;
+
+	private WildfireModelRenderer.BreastModelBox breast;
+	private WildfireModelRenderer.OverlayModelBox overlay;
+	private MatrixStack matrixStack;
+	private BlackholeVertexConsumer consumer;
+
+	@Setup(Level.Trial)
+	public void setup(Blackhole blackhole) {
+		breast = new WildfireModelRenderer.BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.0F, false);
+		overlay = new WildfireModelRenderer.OverlayModelBox(true, 64, 64, 17, 34, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
+
+		matrixStack = new MatrixStack();
+		matrixStack.translate(12.5f, 64f, -3.25f);
+		matrixStack.multiply(RotationAxis.POSITIVE_Y.rotationDegrees(137f));
+		matrixStack.scale(-1f, -1f, 1f);
+		matrixStack.translate(0f, 0.05f, -0.125f);
+		matrixStack.multiply(RotationAxis.POSITIVE_X.rotationDegrees(-35f));
+		matrixStack.multiply(RotationAxis.POSITIVE_Z.rotationDegrees(4.5f));
+		matrixStack.scale(1.05f, 1.05f, 1.05f);
+
+		consumer = new BlackholeVertexConsumer(blackhole);
+	}
+
+	@Benchmark
+	public void breast() {
+		GenderLayer.renderBox(breast, matrixStack, consumer, LIGHT, OverlayTexture.DEFAULT_UV, COLOR);
+	}
+
+	@Benchmark
+	public void breastWithOverlay() {
+		GenderLayer.renderBox(breast, matrixStack, consumer, LIGHT, OverlayTexture.DEFAULT_UV, COLOR);
+		GenderLayer.renderBox(overlay, matrixStack, consumer, LIGHT, OverlayTexture.DEFAULT_UV, COLOR);
+	}
+
+	/**
+	 * Vertex consumer which passes everything it receives into a {@link Blackhole}, such that none of the
+	 * vertex transformations can be optimized away
+	 */
+	private record BlackholeVertexConsumer(Blackhole blackhole) implements VertexConsumer {
+		@Override
+		public VertexConsumer vertex(float x, float y, float z) {
+			blackhole.consume(x);
+			blackhole.consume(y);
+			blackhole.consume(z);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer color(int red, int green, int blue, int alpha) {
+			blackhole.consume(red | green | blue | alpha);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer texture(float u, float v) {
+			blackhole.consume(u);
+			blackhole.consume(v);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer overlay(int u, int v) {
+			blackhole.consume(u | v);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer light(int u, int v) {
+			blackhole.consume(u | v);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer normal(float x, float y, float z) {
+			blackhole.consume(x);
+			blackhole.consume(y);
+			blackhole.consume(z);
+			return this;
+		}
+	}
+}
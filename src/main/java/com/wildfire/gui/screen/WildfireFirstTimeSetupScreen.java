@@ -24,6 +24,7 @@ import com.wildfire.main.WildfireGender;
 import com.wildfire.main.WildfireGenderClient;
 import com.wildfire.main.WildfireHelper;
 import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.main.entitydata.ConfigChangeBus;
 import com.wildfire.main.entitydata.PlayerConfig;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -122,9 +123,9 @@ public class WildfireFirstTimeSetupScreen extends BaseWildfireScreen {
 				}
 				PlayerConfig.saveGenderInfo(clientConfig);
 				// don't immediately re-sync the data we just got back to the cloud
-				clientConfig.needsCloudSync = false;
+				PlayerConfig.CHANGES.cancel(clientConfig, ConfigChangeBus.Channel.CLOUD);
 			} else {
-				clientConfig.needsCloudSync = true;
+				PlayerConfig.CHANGES.publish(clientConfig, ConfigChangeBus.Channel.CLOUD);
 			}
 		});
 	}
@@ -25,14 +25,22 @@ import com.wildfire.gui.screen.WildfireFirstTimeSetupScreen;
 import com.wildfire.main.cloud.CloudSync;
 import com.wildfire.main.config.GlobalConfig;
 import com.wildfire.main.entitydata.BreastDataComponent;
+import com.wildfire.main.entitydata.ConfigChangeBus;
 import com.wildfire.main.entitydata.EntityConfig;
+import com.wildfire.main.entitydata.EntityConfigHolder;
 import com.wildfire.main.entitydata.PlayerConfig;
 import com.wildfire.main.networking.ServerboundSyncPacket;
 import com.wildfire.main.networking.WildfireSync;
+import com.wildfire.physics.PhysicsLod;
+import com.wildfire.physics.PhysicsWorld;
+import com.wildfire.physics.trace.PhysicsTraceRecorder;
+import com.wildfire.render.BreastRenderBatch;
 import com.wildfire.render.GenderArmorLayer;
 import com.wildfire.render.GenderLayer;
 import com.wildfire.render.HolidayFeaturesRenderer;
+import com.wildfire.render.RenderLod;
 import com.wildfire.render.RenderStateEntityCapture;
+import com.wildfire.render.RenderStats;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
@@ -41,6 +49,7 @@ import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.fabric.api.client.rendering.v1.LivingEntityFeatureRendererRegistrationCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
 import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
@@ -58,6 +67,7 @@ import net.minecraft.client.render.entity.EntityRendererFactory;
 import net.minecraft.client.render.entity.LivingEntityRenderer;
 import net.minecraft.client.render.entity.PlayerEntityRenderer;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
+import net.minecraft.client.world.ClientWorld;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.*;
@@ -76,6 +86,7 @@ import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -88,6 +99,8 @@ public final class WildfireEventHandler {
 
 	private static final KeyBinding CONFIG_KEYBIND;
 	private static final KeyBinding TOGGLE_KEYBIND;
+	private static final KeyBinding RECORD_TRACE_KEYBIND;
+	private static final KeyBinding DUMP_RENDER_STATS_KEYBIND;
 	private static int timer = 0;
 
 	public static KeyBinding getConfigKeybind() {
@@ -108,9 +121,21 @@ public final class WildfireEventHandler {
 				KeyBindingHelper.registerKeyBinding(keybind);
 				return keybind;
 			});
+			RECORD_TRACE_KEYBIND = Util.make(() -> {
+				KeyBinding keybind = new KeyBinding("key.wildfire_gender.record_trace", GLFW.GLFW_KEY_UNKNOWN, "category.wildfire_gender.generic");
+				KeyBindingHelper.registerKeyBinding(keybind);
+				return keybind;
+			});
+			DUMP_RENDER_STATS_KEYBIND = Util.make(() -> {
+				KeyBinding keybind = new KeyBinding("key.wildfire_gender.dump_render_stats", GLFW.GLFW_KEY_UNKNOWN, "category.wildfire_gender.generic");
+				KeyBindingHelper.registerKeyBinding(keybind);
+				return keybind;
+			});
 		} else {
 			CONFIG_KEYBIND = null;
 			TOGGLE_KEYBIND = null;
+			RECORD_TRACE_KEYBIND = null;
+			DUMP_RENDER_STATS_KEYBIND = null;
 		}
 	}
 
@@ -129,12 +154,31 @@ public final class WildfireEventHandler {
 	 */
 	@Environment(EnvType.CLIENT)
 	public static void registerClientEvents() {
+		PlayerConfig.CHANGES.listen(ConfigChangeBus.Channel.DISK, 0, config -> {
+			config.getConfig().save();
+			return true;
+		});
+		// wait for the player to stop making changes before syncing, instead of sending every intermediate change
+		PlayerConfig.CHANGES.listen(ConfigChangeBus.Channel.SERVER, 5, WildfireEventHandler::syncToServer);
+		PlayerConfig.CHANGES.listen(ConfigChangeBus.Channel.CLOUD, 40, PlayerConfig::attemptCloudSync);
 		ClientEntityEvents.ENTITY_UNLOAD.register(WildfireEventHandler::onEntityUnload);
 		ClientTickEvents.END_CLIENT_TICK.register(WildfireEventHandler::onClientTick);
+		ClientTickEvents.END_WORLD_TICK.register(WildfireEventHandler::onWorldTick);
 		ClientPlayConnectionEvents.DISCONNECT.register(WildfireEventHandler::clientDisconnect);
 		ClientPlayConnectionEvents.JOIN.register(WildfireEventHandler::clientJoin);
 		LivingEntityFeatureRendererRegistrationCallback.EVENT.register(WildfireEventHandler::registerRenderLayers);
 		HudRenderCallback.EVENT.register(WildfireEventHandler::renderHud);
+		WorldRenderEvents.START.register(context -> {
+			RenderStats.beginFrame();
+			RenderLod.beginWorldRender(MinecraftClient.getInstance());
+			BreastRenderBatch.beginWorldRender();
+		});
+		WorldRenderEvents.AFTER_ENTITIES.register(context -> BreastRenderBatch.flush(context.consumers()));
+		WorldRenderEvents.END.register(context -> {
+			RenderLod.endWorldRender();
+			BreastRenderBatch.endWorldRender();
+			RenderStats.endFrame();
+		});
 		ArmorStatsTooltipEvent.EVENT.register(WildfireEventHandler::renderTooltip);
 		EntityHurtSoundEvent.EVENT.register(WildfireEventHandler::onEntityHurt);
 		EntityTickEvent.EVENT.register(WildfireEventHandler::onEntityTick);
@@ -185,14 +229,14 @@ public final class WildfireEventHandler {
 			return;
 		}
 
-		/*if(MinecraftClient.getInstance().player != null) {
-			PlayerConfig pCfg = WildfireGender.getPlayerById(MinecraftClient.getInstance().player.getUuid());
-			if(pCfg != null) {
-				context.drawText(textRenderer, "Physics Debug", 5, 5, 0xFFFFFF, true);
-				context.drawText(textRenderer, "Position: " + pCfg.getLeftBreastPhysics().getPositionX() + "," + pCfg.getLeftBreastPhysics().getPositionY(), 5, 15, 0xFFFFFF, true);
-				context.drawText(textRenderer, "Breast Size: " + pCfg.getLeftBreastPhysics().getBreastSize(tickCounter.getTickDelta(false)), 5, 35, 0xFFFFFF, true);
+		var renderStats = RenderStats.isEnabled() ? RenderStats.getReport() : null;
+		if(renderStats != null) {
+			int y = 5;
+			for(String line : renderStats.lines()) {
+				context.drawText(textRenderer, line, 5, y, 0xFFFFFF, true);
+				y += 10;
 			}
-		}*/
+		}
 		boolean shouldShow = switch(GlobalConfig.INSTANCE.get(GlobalConfig.ALWAYS_SHOW_LIST)) {
 			case MOD_UI_ONLY -> false;
 			case TAB_LIST_OPEN -> MinecraftClient.getInstance().options.playerListKey.isPressed();
@@ -227,34 +271,41 @@ public final class WildfireEventHandler {
 		// note that we don't attempt to unload players; they're instead only ever unloaded once we leave a world,
 		// or once they disconnect
 		EntityConfig.CACHE.invalidate(entity.getUuid());
+		if(entity instanceof EntityConfigHolder holder) {
+			holder.setEntityConfig(null);
+		}
 	}
 
 	/**
-	 * Perform various actions that should happen once per client tick, such as syncing client player settings
-	 * to the server.
+	 * Perform various actions that should happen once per client tick, such as passing on pending config changes
+	 * and handling keybinds.
 	 */
 	@Environment(EnvType.CLIENT)
 	private static void onClientTick(MinecraftClient client) {
+		// this does nothing unless a config change is waiting to be synced
+		PlayerConfig.CHANGES.tick();
 		if(client.world == null || client.player == null) return;
 
-		PlayerConfig clientConfig = WildfireGender.getPlayerById(client.player.getUuid());
 		timer++;
 
-		// Only attempt to sync if the server will accept the packet, and only once every 5 ticks, or around 4 times a second
-		if(ServerboundSyncPacket.canSend() && timer % 5 == 0) {
-			// sendToServer will only actually send a packet if any changes have been made that need to be synced,
-			// or if we haven't synced before.
-			if(clientConfig != null) WildfireSync.sendToServer(clientConfig);
-		}
-
 		if(timer % 40 == 0) {
 			CloudSync.sendNextQueueBatch();
-			if(clientConfig != null) clientConfig.attemptCloudSync();
+		}
+
+		if(timer % WildfireGender.CACHE_SWEEP_INTERVAL == 0) {
+			WildfireGender.CACHE.sweep();
+			EntityConfig.CACHE.sweep();
 		}
 
 		if(TOGGLE_KEYBIND.wasPressed() && client.currentScreen == null) {
 			GlobalConfig.RENDER_BREASTS ^= true;
 		}
+		if(RECORD_TRACE_KEYBIND.wasPressed() && client.currentScreen == null) {
+			togglePhysicsTrace(client.player);
+		}
+		if(DUMP_RENDER_STATS_KEYBIND.wasPressed() && client.currentScreen == null) {
+			dumpRenderStats(client.player);
+		}
 		if(CONFIG_KEYBIND.wasPressed() && client.currentScreen == null) {
 			if(GlobalConfig.INSTANCE.get(GlobalConfig.FIRST_TIME_LOAD) && CloudSync.isAvailable()) {
 				client.setScreen(new WildfireFirstTimeSetupScreen(null, client.player.getUuid()));
@@ -264,18 +315,84 @@ public final class WildfireEventHandler {
 		}
 	}
 
+	/**
+	 * Start or stop recording a {@link PhysicsTraceRecorder physics trace}
+	 */
+	@Environment(EnvType.CLIENT)
+	private static void togglePhysicsTrace(ClientPlayerEntity player) {
+		if(PhysicsTraceRecorder.isRecording()) {
+			Path path = PhysicsTraceRecorder.stop();
+			player.sendMessage(Text.translatable("wildfire_gender.trace.stopped", String.valueOf(path)), false);
+		} else {
+			Path path = PhysicsTraceRecorder.start();
+			player.sendMessage(path != null ? Text.translatable("wildfire_gender.trace.started")
+					: Text.translatable("wildfire_gender.trace.failed").formatted(Formatting.RED), false);
+		}
+	}
+
+	/**
+	 * Write the most recent {@link RenderStats render stats report} to the game log
+	 */
+	@Environment(EnvType.CLIENT)
+	private static void dumpRenderStats(ClientPlayerEntity player) {
+		var report = RenderStats.isEnabled() ? RenderStats.getReport() : null;
+		if(report == null) {
+			player.sendMessage(Text.translatable("wildfire_gender.render_stats.unavailable").formatted(Formatting.RED), false);
+			return;
+		}
+		WildfireGender.LOGGER.info("{}", String.join(System.lineSeparator(), report.lines()));
+		player.sendMessage(Text.translatable("wildfire_gender.render_stats.dumped"), false);
+	}
+
+	/**
+	 * Integrate breast physics for every entity that ticked this tick
+	 */
+	@Environment(EnvType.CLIENT)
+	private static void onWorldTick(ClientWorld world) {
+		PhysicsTraceRecorder.endTick();
+		PhysicsWorld.INSTANCE.step();
+		// apply any changes to the physics settings starting with the next tick, as this is between steps
+		PhysicsWorld.INSTANCE.setIntegrator(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_INTEGRATOR));
+		PhysicsWorld.INSTANCE.setParallel(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_PARALLEL));
+		// capture the camera state used to pick the physics level of detail for each entity next tick
+		PhysicsLod.refresh(MinecraftClient.getInstance());
+	}
+
 	/**
 	 * Clears all caches when the client player disconnects from a server/closes a singleplayer world
 	 */
 	@Environment(EnvType.CLIENT)
 	private static void clientDisconnect(ClientPlayNetworkHandler networkHandler, MinecraftClient client) {
+		PhysicsTraceRecorder.stop();
+		// anything still pending is for player configs that are about to be dropped
+		PlayerConfig.CHANGES.clear();
 		WildfireGender.CACHE.invalidateAll();
 		EntityConfig.CACHE.invalidateAll();
 	}
 
+	/**
+	 * Sync the client player's settings to the server; this is a no-op for any other player, as their
+	 * settings are never sent by us
+	 */
+	@Environment(EnvType.CLIENT)
+	private static boolean syncToServer(PlayerConfig config) {
+		ClientPlayerEntity player = MinecraftClient.getInstance().player;
+		if(player == null || !player.getUuid().equals(config.uuid)) return true;
+		// a server without the mod will never accept the sync, so there's no point in retrying it; the change is
+		// instead published again when joining a server that can receive it
+		WildfireSync.sendToServer(config);
+		return true;
+	}
+
 	@Environment(EnvType.CLIENT)
 	private static void clientJoin(ClientPlayNetworkHandler var1, PacketSender var2, MinecraftClient client) {
 		if (client.player == null) return;
+		if(ServerboundSyncPacket.canSend()) {
+			PlayerConfig config = WildfireGender.getPlayerById(client.player.getUuid());
+			if(config != null) {
+				PlayerConfig.CHANGES.publish(config, ConfigChangeBus.Channel.SERVER);
+			}
+		}
 		/*if (WildfireGender.getPlayerById(client.player.getUuid()) == null) {
 			var button = WildfireEventHandler.CONFIG_KEYBIND.getBoundKeyLocalizedText();
 			ToastManager toastManager = client.getToastManager();
@@ -332,6 +449,8 @@ public final class WildfireEventHandler {
 	private static void onEntityTick(LivingEntity entity) {
 		if(EntityConfig.isSupportedEntity(entity)) {
 			EntityConfig cfg = EntityConfig.getEntity(entity);
+			// the config is attached to the entity instead of being looked up, so keep it from expiring while in use
+			cfg.touch();
 			if(entity instanceof ArmorStandEntity) {
 				cfg.readFromStack(entity.getEquippedStack(EquipmentSlot.CHEST));
 			}
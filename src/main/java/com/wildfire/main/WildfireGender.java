@@ -18,15 +18,12 @@
 
 package com.wildfire.main;
 
-import java.time.Duration;
 import java.util.*;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.mojang.logging.LogUtils;
 import com.wildfire.main.config.GlobalConfig;
 import com.wildfire.main.entitydata.PlayerConfig;
+import com.wildfire.main.entitydata.UuidStore;
 import com.wildfire.main.networking.WildfireSync;
 import net.fabricmc.api.ModInitializer;
 import org.jetbrains.annotations.NotNull;
@@ -36,32 +33,26 @@ import org.slf4j.Logger;
 public class WildfireGender implements ModInitializer {
 	public static final String MODID = "wildfire_gender";
 	public static final Logger LOGGER = LogUtils.getLogger();
-	public static final LoadingCache<UUID, PlayerConfig> CACHE;
-
-	static {
-		var builder = CacheBuilder.newBuilder();
-		// Only automatically expire cache entries on the client; a server may go a decent while without accessing
-		// the player cache, and we can't easily re-cache a player's settings on a server, while a client
-		// will typically either receive settings from the server in a sync, or simply re-fetch from
-		// a local config file or from the cloud.
-		// Note that servers will manually invalidate cache entries upon a player disconnecting
-		// (see WildfireEventHandler#playerDisconnected).
-		if(WildfireHelper.onClient()) {
-			builder.expireAfterAccess(Duration.ofMinutes(15));
+	/**
+	 * How often {@link #CACHE} is swept for expired entries on the client, in ticks
+	 */
+	public static final int CACHE_SWEEP_INTERVAL = 20 * 60;
+	// Only automatically expire cache entries on the client, after around 15 minutes without being accessed;
+	// a server may go a decent while without accessing the player cache, and we can't easily re-cache
+	// a player's settings on a server, while a client will typically either receive settings from the server
+	// in a sync, or simply re-fetch from a local config file or from the cloud.
+	// Note that servers will manually invalidate cache entries upon a player disconnecting
+	// (see WildfireEventHandler#playerDisconnected).
+	private static final int CACHE_EXPIRY_SWEEPS = WildfireHelper.onClient() ? 15 : 0;
+	public static final UuidStore<PlayerConfig> CACHE = new UuidStore<>(key -> {
+		var config = new PlayerConfig(key);
+		// only attempt to load player data on the client, and if the provided uuid is valid
+		if(WildfireHelper.onClient() && key.version() == 4) {
+			// markForSync being true will only ever do anything for the client player
+			WildfireGenderClient.loadGenderInfo(config, true, false);
 		}
-		CACHE = builder.build(new CacheLoader<>() {
-			@Override
-			public @NotNull PlayerConfig load(@NotNull UUID key) {
-				var config = new PlayerConfig(key);
-				// only attempt to load player data on the client, and if the provided uuid is valid
-				if(WildfireHelper.onClient() && key.version() == 4) {
-					// markForSync being true will only ever do anything for the client player
-					WildfireGenderClient.loadGenderInfo(config, true, false);
-				}
-				return config;
-			}
-		});
-	}
+		return config;
+	}, PlayerConfig::onRemoved, CACHE_EXPIRY_SWEEPS);
 
 	public static final UUID CREATOR_UUID = UUID.fromString("23b6feed-2dfe-4f2e-9429-863fd4adb946");
 	public static final List<UUID> CONTRIBUTOR_UUIDS = List.of(
@@ -85,10 +76,10 @@ public class WildfireGender implements ModInitializer {
 	}
 
 	public static @Nullable PlayerConfig getPlayerById(UUID id) {
-		return CACHE.getIfPresent(id);
+		return CACHE.get(id);
 	}
 
 	public static @NotNull PlayerConfig getOrAddPlayerById(UUID id) {
-		return CACHE.getUnchecked(id);
+		return CACHE.getOrCreate(id);
 	}
 }
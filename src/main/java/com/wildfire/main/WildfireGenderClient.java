@@ -21,6 +21,7 @@ package com.wildfire.main;
 import com.google.gson.JsonObject;
 import com.wildfire.main.cloud.CloudSync;
 import com.wildfire.main.cloud.ContributorNametag;
+import com.wildfire.main.entitydata.ConfigChangeBus;
 import com.wildfire.main.entitydata.PlayerConfig;
 import com.wildfire.main.networking.WildfireSync;
 import com.wildfire.resources.GenderArmorResourceManager;
@@ -81,7 +82,7 @@ public class WildfireGenderClient implements ClientModInitializer {
 				if(data != null && player.syncStatus == PlayerConfig.SyncStatus.UNKNOWN) {
 					player.updateFromJson(data);
 					if(markForSync) {
-						player.needsSync = true;
+						PlayerConfig.CHANGES.publish(player, ConfigChangeBus.Channel.SERVER);
 					}
 				}
 			}
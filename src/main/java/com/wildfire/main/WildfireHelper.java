@@ -27,6 +27,7 @@ import com.wildfire.api.WildfireAPI;
 import com.wildfire.main.config.FloatConfigKey;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.EquippableComponent;
 import net.minecraft.item.ItemStack;
 import com.wildfire.api.impl.GenderArmor;
 import com.wildfire.resources.GenderArmorResourceManager;
@@ -78,10 +79,18 @@ public final class WildfireHelper {
             return GenderArmor.EMPTY;
         }
 
-        return GenderArmorResourceManager.get(stack).orElseGet(() -> {
-            var fallback = stack.contains(DataComponentTypes.EQUIPPABLE) ? GenderArmor.DEFAULT : GenderArmor.EMPTY;
-            return WildfireAPI.getGenderArmors().getOrDefault(stack.getItem(), fallback);
-        });
+        // this is called for every ticked entity each tick, so avoid going through GenderArmorResourceManager#get(ItemStack),
+        // as its Optional chain allocates on every call
+        EquippableComponent equippable = stack.get(DataComponentTypes.EQUIPPABLE);
+        if(equippable != null && equippable.assetId().isPresent()) {
+            IGenderArmor config = GenderArmorResourceManager.get(equippable.assetId().get().getValue());
+            if(config != null) {
+                return config;
+            }
+        }
+
+        var fallback = equippable != null ? GenderArmor.DEFAULT : GenderArmor.EMPTY;
+        return WildfireAPI.getGenderArmors().getOrDefault(stack.getItem(), fallback);
     }
 
     public static Codec<Float> boundedFloat(float minInclusive, float maxInclusive) {
@@ -33,16 +33,48 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * <p>Base class for configurations saved as JSON files.</p>
+ *
+ * <p>Values are kept in memory in a slot for each {@link ConfigKey}, which are only parsed from JSON once when loaded,
+ * and only converted back to JSON when {@link #toJson() serialized}. Every key also has a dirty bit, which is set
+ * whenever its value changes from what's saved on disk; {@link #save()} skips writing entirely if nothing changed.</p>
+ *
+ * <p>All keys a configuration supports are provided up front when it's created, such that {@link #get(ConfigKey)}
+ * never has to modify any state, and can safely be called from any thread without locking; everything else that
+ * modifies or serializes the configuration is synchronized on the configuration itself, as player configurations
+ * may be loaded or saved from a different thread than the one they're read on. Values for any keys that aren't
+ * supported by a configuration are retained as-is, to avoid discarding any values added by other versions of the
+ * mod.</p>
+ */
 public abstract class AbstractConfiguration {
 
 	private static final TypeAdapter<JsonObject> ADAPTER = new Gson().getAdapter(JsonObject.class);
 
 	private final File CFG_FILE;
-	public JsonObject SAVE_VALUES = new JsonObject();
-
-	protected AbstractConfiguration(String directory, String cfgName) {
+	// every key supported by this configuration, in the order they were declared in; this is also the order that
+	// values are serialized in, such that saving the same values always produces the same output
+	private final ConfigKey<?>[] declared;
+	// every key supported by this configuration, by name
+	private final Map<String, ConfigKey<?>> keys;
+	// indexed by ConfigKey#index, for looking up whether a key is supported by this configuration
+	private final ConfigKey<?>[] slots;
+	// also indexed by ConfigKey#index; null if a key doesn't have a value
+	private final AtomicReferenceArray<Object> values;
+	// the following are guarded by this configuration
+	private final BitSet dirty = new BitSet();
+	// raw values for keys not supported by this configuration
+	private final JsonObject unknownValues = new JsonObject();
+	// set if an unknown value was changed or removed, as those don't have a dirty bit of their own
+	private boolean unknownDirty;
+
+	protected AbstractConfiguration(String directory, String cfgName, ConfigKey<?>... keys) {
 		Path saveDir = FabricLoader.getInstance().getConfigDir().resolve(directory);
 		if(supportsSaving() && !Files.isDirectory(saveDir)) {
 			try {
@@ -52,55 +84,158 @@ public abstract class AbstractConfiguration {
 			}
 		}
 		CFG_FILE = saveDir.resolve(cfgName + ".json").toFile();
+
+		int size = 0;
+		for(ConfigKey<?> key : keys) {
+			size = Math.max(size, key.index + 1);
+		}
+		Map<String, ConfigKey<?>> byName = new HashMap<>();
+		this.slots = new ConfigKey<?>[size];
+		for(ConfigKey<?> key : keys) {
+			if(byName.putIfAbsent(key.key, key) != null) {
+				throw new IllegalArgumentException("Duplicate config key " + key.key);
+			}
+			slots[key.index] = key;
+		}
+		this.declared = keys.clone();
+		this.keys = Map.copyOf(byName);
+		this.values = new AtomicReferenceArray<>(size);
 	}
 
 	public static boolean supportsSaving() {
 		return FabricLoader.getInstance().getEnvironmentType() != EnvType.SERVER;
 	}
 
-	public <TYPE> void set(ConfigKey<TYPE> key, TYPE value) {
-		key.save(SAVE_VALUES, value);
+	/**
+	 * @return The value slot for the given key
+	 * @throws IllegalArgumentException if the key isn't supported by this configuration
+	 */
+	private int slot(ConfigKey<?> key) {
+		int index = key.index;
+		if(index >= slots.length || slots[index] != key) {
+			throw new IllegalArgumentException("Config key " + key.key + " is not supported by " + getClass().getSimpleName());
+		}
+		return index;
+	}
+
+	public synchronized <TYPE> void set(ConfigKey<TYPE> key, TYPE value) {
+		int slot = slot(key);
+		value = key.sanitize(value);
+		if(Objects.equals(values.get(slot), value)) return;
+		values.set(slot, value);
+		dirty.set(slot);
 	}
 
+	@SuppressWarnings("unchecked")
 	public <TYPE> TYPE get(ConfigKey<TYPE> key) {
-		return key.read(SAVE_VALUES);
+		Object value = values.get(slot(key));
+		return value == null ? key.defaultValue : (TYPE) value;
 	}
 
-	public <TYPE> void setDefault(ConfigKey<TYPE> key) {
-		if(!SAVE_VALUES.has(key.key)) {
+	public synchronized <TYPE> void setDefault(ConfigKey<TYPE> key) {
+		if(values.get(slot(key)) == null) {
 			set(key, key.defaultValue);
 		}
 	}
 
-	public void removeParameter(ConfigKey<?> key) {
-		removeParameter(key.key);
+	public synchronized void removeParameter(ConfigKey<?> key) {
+		int slot = slot(key);
+		if(values.getAndSet(slot, null) != null) {
+			dirty.set(slot);
+		}
+	}
+
+	public synchronized void removeParameter(String key) {
+		ConfigKey<?> configKey = keys.get(key);
+		if(configKey != null) {
+			removeParameter(configKey);
+		} else if(unknownValues.remove(key) != null) {
+			unknownDirty = true;
+		}
 	}
 
-	public void removeParameter(String key) {
-		SAVE_VALUES.remove(key);
+	/**
+	 * @return {@code true} if any value has changed since this configuration was last loaded from or saved to disk
+	 */
+	public synchronized boolean isDirty() {
+		return unknownDirty || !dirty.isEmpty();
+	}
+
+	/**
+	 * @return {@code true} if the value for the given key has changed since this configuration was last loaded from or
+	 *         saved to disk
+	 */
+	public synchronized boolean isDirty(ConfigKey<?> key) {
+		return dirty.get(slot(key));
+	}
+
+	/**
+	 * Serialize every value in this configuration to a new {@link JsonObject}
+	 */
+	public synchronized JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		for(ConfigKey<?> key : declared) {
+			write(key, json);
+		}
+		for(Map.Entry<String, JsonElement> entry : unknownValues.entrySet()) {
+			json.add(entry.getKey(), entry.getValue().deepCopy());
+		}
+		return json;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <TYPE> void write(ConfigKey<TYPE> key, JsonObject json) {
+		Object value = values.get(key.index);
+		if(value != null) {
+			key.save(json, (TYPE) value);
+		}
+	}
+
+	/**
+	 * Merge the values in the provided {@link JsonObject} into this configuration, marking any changed values as dirty
+	 */
+	public synchronized void merge(JsonObject json) {
+		for(Map.Entry<String, JsonElement> entry : json.entrySet()) {
+			ConfigKey<?> key = keys.get(entry.getKey());
+			if(key != null) {
+				mergeValue(key, entry.getValue());
+			} else if(!entry.getValue().equals(unknownValues.get(entry.getKey()))) {
+				unknownValues.add(entry.getKey(), entry.getValue());
+				unknownDirty = true;
+			}
+		}
+	}
+
+	private <TYPE> void mergeValue(ConfigKey<TYPE> key, JsonElement element) {
+		set(key, key.parse(element));
 	}
 
 	public boolean exists() {
 		return CFG_FILE.exists();
 	}
 
-	public void save() {
+	public synchronized void save() {
 		if(!supportsSaving()) return;
+		// nothing's changed since we last loaded or saved, so there's nothing to write
+		if(!isDirty() && CFG_FILE.exists()) return;
 		try(FileWriter writer = new FileWriter(CFG_FILE); JsonWriter jsonWriter = new JsonWriter(writer)) {
 			jsonWriter.setIndent("\t");
-			ADAPTER.write(jsonWriter, SAVE_VALUES);
+			ADAPTER.write(jsonWriter, toJson());
+			dirty.clear();
+			unknownDirty = false;
 		} catch (IOException e) {
 			WildfireGender.LOGGER.error("Failed to save config file", e);
 		}
 	}
 
-	public void load() {
+	public synchronized void load() {
 		if(!supportsSaving() || !CFG_FILE.exists()) return;
 		try(FileReader configurationFile = new FileReader(CFG_FILE)) {
 			JsonObject obj = new Gson().fromJson(configurationFile, JsonObject.class);
-			for(Map.Entry<String, JsonElement> entry : obj.entrySet()) {
-				SAVE_VALUES.add(entry.getKey(), entry.getValue());
-			}
+			merge(obj);
+			// everything we just loaded is already on disk
+			dirty.clear();
+			unknownDirty = false;
 		} catch(IOException e) {
 			WildfireGender.LOGGER.error("Failed to load config file", e);
 		}
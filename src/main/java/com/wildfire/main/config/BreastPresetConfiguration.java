@@ -37,7 +37,8 @@ public class BreastPresetConfiguration extends AbstractConfiguration {
 	public static final FloatConfigKey BREASTS_CLEAVAGE = new FloatConfigKey("breasts_cleavage", 0, 0, 0.1F);
 
 	public BreastPresetConfiguration(String cfgName) {
-		super(PRESETS_DIR, cfgName);
+		super(PRESETS_DIR, cfgName, PRESET_NAME, BUST_SIZE,
+				BREASTS_OFFSET_X, BREASTS_OFFSET_Y, BREASTS_OFFSET_Z, BREASTS_UNIBOOB, BREASTS_CLEAVAGE);
 	}
 
 	public static BreastPresetConfiguration[] getBreastPresetConfigurationFiles() {
@@ -21,10 +21,16 @@ package com.wildfire.main.config;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public abstract class ConfigKey<TYPE> {
 
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
     protected final String key;
     protected final TYPE defaultValue;
+    // slot for this key in AbstractConfiguration's value storage; unique across all keys
+    final int index = NEXT_INDEX.getAndIncrement();
 
     protected ConfigKey(String key, TYPE defaultValue) {
         this.key = key;
@@ -37,14 +43,24 @@ public abstract class ConfigKey<TYPE> {
 
     public final TYPE read(JsonObject obj) {
         JsonElement element = obj.get(key);
-        if (element != null) {
-            TYPE value = read(element);
-            if (validate(value)) {
-                //If the value is valid, return it otherwise return the default
-                return value;
-            }
-        }
-        return defaultValue;
+        return element == null ? defaultValue : parse(element);
+    }
+
+    /**
+     * Read a value for this key from the provided {@link JsonElement}, falling back to the default if it isn't valid
+     */
+    public final TYPE parse(JsonElement element) {
+        TYPE value = read(element);
+        //If the value is valid, return it otherwise return the default
+        return validate(value) ? value : defaultValue;
+    }
+
+    /**
+     * Sanitize a value before it's stored in a configuration, such that it would also be considered valid when
+     * read back from disk
+     */
+    public TYPE sanitize(TYPE value) {
+        return validate(value) ? value : defaultValue;
     }
 
     protected abstract TYPE read(JsonElement element);
@@ -48,6 +48,9 @@ public class Configuration extends AbstractConfiguration {
 	public static final BooleanConfigKey HOLIDAY_THEMES = new BooleanConfigKey("holiday_themes", true);
 
 	public Configuration(String cfgName) {
-		super(CONFIG_DIR, cfgName);
+		super(CONFIG_DIR, cfgName, USERNAME, GENDER, BUST_SIZE, HURT_SOUNDS,
+				BREASTS_OFFSET_X, BREASTS_OFFSET_Y, BREASTS_OFFSET_Z, BREASTS_UNIBOOB, BREASTS_CLEAVAGE,
+				BREAST_PHYSICS, ARMOR_PHYSICS_OVERRIDE, SHOW_IN_ARMOR, BOUNCE_MULTIPLIER, FLOPPY_MULTIPLIER,
+				VOICE_PITCH, HOLIDAY_THEMES);
 	}
 }
@@ -40,6 +40,11 @@ public class FloatConfigKey extends NumberConfigKey<Float> {
         return MathHelper.clamp(super.read(element), getMinInclusive(), getMaxInclusive());
     }
 
+    @Override
+    public Float sanitize(Float value) {
+        return value == null ? defaultValue : MathHelper.clamp(value, getMinInclusive(), getMaxInclusive());
+    }
+
     @Override
     protected Float fromPrimitive(JsonPrimitive primitive) {
         return primitive.getAsFloat();
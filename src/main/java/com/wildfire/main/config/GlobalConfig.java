@@ -20,14 +20,9 @@ package com.wildfire.main.config;
 
 import com.wildfire.main.config.enums.ShowPlayerListMode;
 import com.wildfire.main.config.enums.SyncVerbosity;
+import com.wildfire.physics.SpringIntegrator;
 
 public class GlobalConfig extends AbstractConfiguration {
-    public static final GlobalConfig INSTANCE = new GlobalConfig();
-
-    private GlobalConfig() {
-        super(".", "wildfire_gender");
-    }
-
     // note: this option is not intended to be saved in any persistent manner
     public static boolean RENDER_BREASTS = true;
 
@@ -42,6 +37,34 @@ public class GlobalConfig extends AbstractConfiguration {
 
     public static final BooleanConfigKey ARMOR_STAT = new BooleanConfigKey("armor_stat", true);
 
+    // physics level of detail; see PhysicsLod for how these are used
+    public static final BooleanConfigKey PHYSICS_LOD = new BooleanConfigKey("physics_lod", true);
+    public static final FloatConfigKey PHYSICS_LOD_FULL_DISTANCE = new FloatConfigKey("physics_lod_full_distance", 24f, 0f, 512f);
+    public static final FloatConfigKey PHYSICS_LOD_FREEZE_DISTANCE = new FloatConfigKey("physics_lod_freeze_distance", 64f, 0f, 512f);
+    public static final IntegerConfigKey PHYSICS_LOD_REDUCED_INTERVAL = new IntegerConfigKey("physics_lod_reduced_interval", 4, 1, 20);
+    public static final EnumConfigKey<SpringIntegrator> PHYSICS_INTEGRATOR = new EnumConfigKey<>("physics_integrator", SpringIntegrator.ANALYTIC, SpringIntegrator.BY_ID);
+    // steps physics for all entities as a batch across multiple threads; only worthwhile in crowded scenes
+    public static final BooleanConfigKey PHYSICS_PARALLEL = new BooleanConfigKey("physics_parallel", false);
+
+    // render level of detail; see RenderLod for how these are used
+    public static final BooleanConfigKey RENDER_LOD = new BooleanConfigKey("render_lod", true);
+    public static final FloatConfigKey RENDER_LOD_REDUCED_DISTANCE = new FloatConfigKey("render_lod_reduced_distance", 32f, 0f, 512f);
+    public static final FloatConfigKey RENDER_LOD_SKIP_DISTANCE = new FloatConfigKey("render_lod_skip_distance", 128f, 0f, 512f);
+    // batches breast geometry across all rendered entities; see BreastRenderBatch
+    public static final BooleanConfigKey RENDER_BATCHING = new BooleanConfigKey("render_batching", false);
+    // collects render timings and shows them on the HUD; see RenderStats
+    public static final BooleanConfigKey RENDER_STATS = new BooleanConfigKey("render_stats", false);
+
+    // note that this has to be created after all the keys above, as they're all registered when it's created
+    public static final GlobalConfig INSTANCE = new GlobalConfig();
+
+    private GlobalConfig() {
+        super(".", "wildfire_gender", FIRST_TIME_LOAD, CLOUD_SYNC_ENABLED, AUTOMATIC_CLOUD_SYNC, CLOUD_SERVER, SYNC_VERBOSITY,
+                ALWAYS_SHOW_LIST, ARMOR_STAT, PHYSICS_LOD, PHYSICS_LOD_FULL_DISTANCE, PHYSICS_LOD_FREEZE_DISTANCE,
+                PHYSICS_LOD_REDUCED_INTERVAL, PHYSICS_INTEGRATOR, PHYSICS_PARALLEL, RENDER_LOD, RENDER_LOD_REDUCED_DISTANCE,
+                RENDER_LOD_SKIP_DISTANCE, RENDER_BATCHING, RENDER_STATS);
+    }
+
     static {
         INSTANCE.setDefault(FIRST_TIME_LOAD);
         INSTANCE.setDefault(CLOUD_SYNC_ENABLED);
@@ -50,6 +73,17 @@ public class GlobalConfig extends AbstractConfiguration {
         INSTANCE.setDefault(SYNC_VERBOSITY);
         INSTANCE.setDefault(ALWAYS_SHOW_LIST);
         INSTANCE.setDefault(ARMOR_STAT);
+        INSTANCE.setDefault(PHYSICS_LOD);
+        INSTANCE.setDefault(PHYSICS_LOD_FULL_DISTANCE);
+        INSTANCE.setDefault(PHYSICS_LOD_FREEZE_DISTANCE);
+        INSTANCE.setDefault(PHYSICS_LOD_REDUCED_INTERVAL);
+        INSTANCE.setDefault(PHYSICS_INTEGRATOR);
+        INSTANCE.setDefault(PHYSICS_PARALLEL);
+        INSTANCE.setDefault(RENDER_LOD);
+        INSTANCE.setDefault(RENDER_LOD_REDUCED_DISTANCE);
+        INSTANCE.setDefault(RENDER_LOD_SKIP_DISTANCE);
+        INSTANCE.setDefault(RENDER_BATCHING);
+        INSTANCE.setDefault(RENDER_STATS);
         if(!INSTANCE.exists()) {
             INSTANCE.save();
         }
@@ -0,0 +1,127 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.main.entitydata;
+
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.main.WildfireHelper;
+import com.wildfire.physics.BreastPhysics;
+import com.wildfire.physics.EntityPhysicsAdapter;
+import com.wildfire.physics.PhysicsInput;
+import com.wildfire.physics.PhysicsLod;
+import com.wildfire.physics.PhysicsWorld;
+import com.wildfire.physics.trace.PhysicsTraceRecorder;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffectUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Client-only state for an {@link EntityConfig}, namely its breast physics and anything else that's updated every
+ * tick for use while rendering.</p>
+ *
+ * <p>This is only created once first needed through {@link EntityConfig#getClientData()}, such that configs which are
+ * only ever used on a server don't hold onto any of this.</p>
+ */
+@Environment(EnvType.CLIENT)
+public final class ClientEntityData {
+	private final EntityConfig config;
+	private final BreastPhysics lBreastPhysics, rBreastPhysics;
+	// reused between ticks to avoid allocating a new snapshot for every ticked entity
+	private final PhysicsInput physicsInput = new PhysicsInput();
+	private int skippedPhysicsTicks;
+	private boolean canBreathe = true;
+
+	ClientEntityData(EntityConfig config) {
+		this.config = config;
+		// seed physics from the entity's UUID, such that the same entity always has the same physics behavior
+		long seed = config.uuid.getMostSignificantBits() ^ config.uuid.getLeastSignificantBits();
+		lBreastPhysics = new BreastPhysics(seed);
+		rBreastPhysics = new BreastPhysics(~seed);
+	}
+
+	public @NotNull BreastPhysics getLeftBreastPhysics() {
+		return lBreastPhysics;
+	}
+
+	public @NotNull BreastPhysics getRightBreastPhysics() {
+		return rBreastPhysics;
+	}
+
+	/**
+	 * {@code true} if the entity was able to breathe as of its last tick, which controls whether the breathing
+	 * animation is played
+	 */
+	public boolean canBreathe() {
+		return canBreathe;
+	}
+
+	/**
+	 * Release any {@link PhysicsWorld physics world} slots held by this entity
+	 */
+	void release() {
+		lBreastPhysics.release();
+		rBreastPhysics.release();
+	}
+
+	void tick(@NotNull LivingEntity entity) {
+		// this involves a block lookup, so only check it once per tick instead of every frame while rendering
+		canBreathe = !entity.isSubmergedInWater() || StatusEffectUtil.hasWaterBreathing(entity)
+				|| entity.getBlockStateAtPos().isOf(Blocks.BUBBLE_COLUMN);
+
+		IGenderArmor armor = WildfireHelper.getArmorConfig(entity.getEquippedStack(EquipmentSlot.CHEST));
+
+		switch(PhysicsLod.select(entity)) {
+			case FULL -> {
+				// catch up on any ticks held while at reduced detail, as otherwise these would simply be dropped
+				int ticks = skippedPhysicsTicks + 1;
+				skippedPhysicsTicks = 0;
+				EntityPhysicsAdapter.capture(entity, config, armor, physicsInput);
+				PhysicsTraceRecorder.record(config.uuid, physicsInput, ticks);
+				submitBreastPhysics(ticks);
+			}
+			case REDUCED -> {
+				if(++skippedPhysicsTicks < PhysicsLod.getReducedInterval()) {
+					lBreastPhysics.hold();
+					rBreastPhysics.hold();
+					return;
+				}
+				EntityPhysicsAdapter.capture(entity, config, armor, physicsInput);
+				PhysicsTraceRecorder.record(config.uuid, physicsInput, skippedPhysicsTicks);
+				submitBreastPhysics(skippedPhysicsTicks);
+				skippedPhysicsTicks = 0;
+			}
+			case FROZEN -> {
+				skippedPhysicsTicks = 0;
+				EntityPhysicsAdapter.captureSettings(config, armor, physicsInput);
+				lBreastPhysics.freeze(physicsInput);
+				rBreastPhysics.freeze(physicsInput);
+			}
+		}
+	}
+
+	private void submitBreastPhysics(int ticks) {
+		// the captured input isn't touched again until this entity's next tick, so it's safe to hand off as-is
+		PhysicsWorld.INSTANCE.submit(lBreastPhysics, physicsInput, ticks);
+		PhysicsWorld.INSTANCE.submit(rBreastPhysics, physicsInput, ticks);
+	}
+}
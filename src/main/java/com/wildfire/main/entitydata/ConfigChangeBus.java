@@ -0,0 +1,134 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.main.entitydata;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>Notifies listeners of changes to a {@link PlayerConfig} that need to be propagated somewhere else, such as to
+ * disk, the server, or the cloud sync server.</p>
+ *
+ * <p>Each listener has its own debounce window, measured in client ticks: changes are only passed on once no further
+ * changes have been {@link #publish(PlayerConfig, Channel...) published} for that long, and a listener with a window of
+ * {@code 0} is instead called immediately. Nothing is done while there aren't any changes waiting to be passed on.</p>
+ */
+public final class ConfigChangeBus {
+
+	public enum Channel {
+		/**
+		 * The config needs to be saved to the local config file
+		 */
+		DISK,
+		/**
+		 * The config needs to be synced to the server we're currently connected to
+		 */
+		SERVER,
+		/**
+		 * The config needs to be synced to the cloud sync server
+		 */
+		CLOUD
+	}
+
+	@FunctionalInterface
+	public interface Listener {
+		/**
+		 * @param config The {@link PlayerConfig} that changed
+		 * @return {@code false} if the change can't be handled right now, in which case this is retried once the
+		 *         listener's debounce window passes again
+		 */
+		boolean onChange(PlayerConfig config);
+	}
+
+	private record Subscription(Channel channel, int debounceTicks, Listener listener) {}
+	private record Pending(Subscription subscription, PlayerConfig config) {}
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+	// the tick each pending change should be passed on at
+	private final Map<Pending, Long> pending = new ConcurrentHashMap<>();
+	// only ever written to from #tick()
+	private volatile long ticks = 0;
+
+	/**
+	 * Register a listener for changes published on the given channel
+	 *
+	 * @param channel       The channel to listen on
+	 * @param debounceTicks How many ticks to wait after the last change before calling the listener
+	 * @param listener      The listener to call with changed configs
+	 */
+	public void listen(Channel channel, int debounceTicks, Listener listener) {
+		subscriptions.add(new Subscription(channel, debounceTicks, listener));
+	}
+
+	/**
+	 * Notify listeners on the given channels that the provided config changed. This may be called from any thread,
+	 * but note that listeners without a debounce window are called on the calling thread.
+	 */
+	public void publish(PlayerConfig config, Channel... channels) {
+		List<Channel> targets = List.of(channels);
+		for(Subscription subscription : subscriptions) {
+			if(!targets.contains(subscription.channel)) continue;
+			var key = new Pending(subscription, config);
+			if(subscription.debounceTicks > 0) {
+				// restart the debounce window if this change is already pending
+				pending.put(key, ticks + subscription.debounceTicks);
+			} else if(!subscription.listener.onChange(config)) {
+				pending.put(key, ticks + 1);
+			}
+		}
+	}
+
+	/**
+	 * Drop any pending changes for the provided config on the given channel
+	 */
+	public void cancel(PlayerConfig config, Channel channel) {
+		pending.keySet().removeIf(key -> key.config == config && key.subscription.channel == channel);
+	}
+
+	/**
+	 * Drop all pending changes
+	 */
+	public void clear() {
+		pending.clear();
+	}
+
+	/**
+	 * Pass on any changes whose debounce window has passed; called once every client tick
+	 */
+	@ApiStatus.Internal
+	public void tick() {
+		long now = ++ticks;
+		if(pending.isEmpty()) return;
+
+		for(var entry : pending.entrySet()) {
+			if(entry.getValue() > now) continue;
+			Pending key = entry.getKey();
+			// if this was published again in the meantime, leave it be until its new deadline
+			if(!pending.remove(key, entry.getValue())) continue;
+			if(!key.subscription.listener.onChange(key.config)) {
+				pending.putIfAbsent(key, now + Math.max(key.subscription.debounceTicks, 1));
+			}
+		}
+	}
+}
@@ -18,12 +18,7 @@
 
 package com.wildfire.main.entitydata;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.wildfire.api.IGenderArmor;
 import com.wildfire.main.WildfireGender;
-import com.wildfire.main.WildfireHelper;
 import com.wildfire.main.config.Configuration;
 import com.wildfire.main.Gender;
 import com.wildfire.physics.BreastPhysics;
@@ -31,7 +26,6 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.NbtComponent;
-import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.player.PlayerEntity;
@@ -39,7 +33,6 @@ import net.minecraft.item.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.time.Duration;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -50,16 +43,10 @@ import java.util.UUID;
  *
  * <p>Currently only used for {@link ArmorStandEntity armor stands}, and as a superclass for {@link PlayerConfig player configs}.</p>
  */
-public class EntityConfig {
+public class EntityConfig implements UuidStore.Touchable {
 
-	public static final LoadingCache<UUID, EntityConfig> CACHE = CacheBuilder.newBuilder()
-			.expireAfterAccess(Duration.ofMinutes(5))
-			.build(new CacheLoader<>() {
-				@Override
-				public @NotNull EntityConfig load(@NotNull UUID key) {
-					return new EntityConfig(key);
-				}
-			});
+	// expires entries after around 5 minutes without being used, assuming WildfireGender#CACHE_SWEEP_INTERVAL
+	public static final UuidStore<EntityConfig> CACHE = new UuidStore<>(EntityConfig::new, EntityConfig::onRemoved, 5);
 
 	public final UUID uuid;
 	protected Gender gender = Configuration.GENDER.getDefault();
@@ -73,20 +60,19 @@ public class EntityConfig {
 	// note: hurt sounds, armor physics override, and show in armor are not defined here, as they have no relevance
 	// to entities, and are instead entirely in PlayerConfig
 
-	// TODO ideally these physics objects would be made entirely client-sided, but this class is
-	//      used on both the client and server (primarily through PlayerConfig), making it very
-	//      difficult to do so without some major changes to split this up further into a common class
-	//      with a client extension class (e.g. the PlayerEntity & AbstractClientPlayerEntity classes)
-	protected final BreastPhysics lBreastPhysics, rBreastPhysics;
 	protected final Breasts breasts;
 	protected boolean jacketLayer = true;
 	protected @Nullable BreastDataComponent fromComponent;
+	// physics are only ever used on the client, so avoid creating any of it until it's needed;
+	// a dedicated server will never create this
+	private @Nullable ClientEntityData clientData;
+	// set once this is removed from its cache, such that entities it's still attached to know to look up a new config
+	private volatile boolean removed;
+	private volatile boolean touched;
 
 	protected EntityConfig(UUID uuid) {
 		this.uuid = uuid;
 		this.breasts = new Breasts();
-		lBreastPhysics = new BreastPhysics(this);
-		rBreastPhysics = new BreastPhysics(this);
 	}
 
 	/**
@@ -134,13 +120,29 @@ public class EntityConfig {
 	 *          returned, and may take several seconds to be populated if loaded from the
 	 *          {@link com.wildfire.main.cloud.CloudSync cloud sync server}.
 	 *
+	 * @implNote This returns the configuration attached to the entity, and only looks it up by UUID if none is attached
+	 *           yet, or if the attached configuration has since been removed from its cache.
+	 *
 	 * @return The relevant {@link EntityConfig}, or {@link PlayerConfig} if given a {@link PlayerEntity player}
 	 */
+	@Environment(EnvType.CLIENT)
 	public static @NotNull EntityConfig getEntity(@NotNull LivingEntity entity) {
-		if(entity instanceof PlayerEntity) {
-			return WildfireGender.getOrAddPlayerById(entity.getUuid());
-		}
-		return CACHE.getUnchecked(entity.getUuid());
+		// this is called several times for every rendered entity every frame, so avoid a cache lookup where possible
+		EntityConfig config = ((EntityConfigHolder) entity).getEntityConfig();
+		return config != null && !config.removed ? config : attach(entity);
+	}
+
+	/**
+	 * Look up the configuration for a given entity by its UUID, and attach it to the entity for later use
+	 * by {@link #getEntity}
+	 */
+	@Environment(EnvType.CLIENT)
+	private static @NotNull EntityConfig attach(@NotNull LivingEntity entity) {
+		EntityConfig config = entity instanceof PlayerEntity
+				? WildfireGender.getOrAddPlayerById(entity.getUuid())
+				: CACHE.getOrCreate(entity.getUuid());
+		((EntityConfigHolder) entity).setEntityConfig(config);
+		return config;
 	}
 
 	public @NotNull Gender getGender() {
@@ -179,11 +181,63 @@ public class EntityConfig {
 		return this.voicePitch;
 	}
 
+	/**
+	 * Get the client-only state for this entity, creating it if this is the first time it's needed
+	 */
+	@Environment(EnvType.CLIENT)
+	public @NotNull ClientEntityData getClientData() {
+		if(clientData == null) {
+			clientData = new ClientEntityData(this);
+		}
+		return clientData;
+	}
+
+	@Environment(EnvType.CLIENT)
 	public @NotNull BreastPhysics getLeftBreastPhysics() {
-		return lBreastPhysics;
+		return getClientData().getLeftBreastPhysics();
 	}
+
+	@Environment(EnvType.CLIENT)
 	public @NotNull BreastPhysics getRightBreastPhysics() {
-		return rBreastPhysics;
+		return getClientData().getRightBreastPhysics();
+	}
+
+	/**
+	 * Mark this config as still being used, keeping it from expiring from its cache without having to look it up
+	 */
+	public void touch() {
+		// only write if this changed, such that steady state ticks don't write to shared memory at all
+		if(!touched) {
+			touched = true;
+		}
+	}
+
+	@Override
+	public boolean consumeTouched() {
+		boolean touched = this.touched;
+		if(touched) {
+			this.touched = false;
+		}
+		return touched;
+	}
+
+	/**
+	 * Called once this config is removed from its respective cache, be it from expiring or being invalidated
+	 */
+	public void onRemoved() {
+		this.removed = true;
+		releasePhysics();
+	}
+
+	/**
+	 * Release any {@link com.wildfire.physics.PhysicsWorld physics world} slots held by this config; this is
+	 * called once this config is removed from its respective cache.
+	 */
+	public void releasePhysics() {
+		// this is called on both sides, but only ever has anything to release on the client
+		if(clientData != null) {
+			clientData.release();
+		}
 	}
 
 	/**
@@ -194,12 +248,18 @@ public class EntityConfig {
 		return jacketLayer;
 	}
 
+	/**
+	 * {@code true} if the entity was able to breathe as of its last tick, which controls whether the breathing
+	 * animation is played
+	 */
+	@Environment(EnvType.CLIENT)
+	public boolean canBreathe() {
+		return getClientData().canBreathe();
+	}
+
 	@Environment(EnvType.CLIENT)
 	public void tickBreastPhysics(@NotNull LivingEntity entity) {
-		IGenderArmor armor = WildfireHelper.getArmorConfig(entity.getEquippedStack(EquipmentSlot.CHEST));
-
-		getLeftBreastPhysics().update(entity, armor);
-		getRightBreastPhysics().update(entity, armor);
+		getClientData().tick(entity);
 	}
 
 	@Override
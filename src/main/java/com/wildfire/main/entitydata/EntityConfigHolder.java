@@ -16,15 +16,13 @@
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
 
-package com.wildfire.mixins.accessors;
 
-import net.minecraft.client.texture.TextureManager;
-import net.minecraft.resource.ResourceManager;
-import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.gen.Accessor;
+package com.wildfire.main.entitydata;
 
-@Mixin(TextureManager.class)
-public interface TextureManagerAccessor {
-    @Accessor
-    ResourceManager getResourceContainer();
+import org.jetbrains.annotations.Nullable;
+
+// See LivingEntityMixin for the actual implementation
+public interface EntityConfigHolder {
+	@Nullable EntityConfig getEntityConfig();
+	void setEntityConfig(@Nullable EntityConfig config);
 }
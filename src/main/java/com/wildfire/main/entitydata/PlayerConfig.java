@@ -32,6 +32,7 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -42,11 +43,16 @@ import java.util.function.Consumer;
  */
 public class PlayerConfig extends EntityConfig {
 
-	public boolean needsSync;
-	public boolean needsCloudSync;
+	/**
+	 * Changes to player configs that need to be saved or synced are published here
+	 */
+	public static final ConfigChangeBus CHANGES = new ConfigChangeBus();
+
 	public SyncStatus syncStatus = SyncStatus.UNKNOWN;
 
-	private final Configuration cfg;
+	// only created once first needed, as a dedicated server never reads from or writes to this; note that this
+	// may be first accessed from a loader thread, hence #getConfig() being synchronized
+	private @Nullable Configuration cfg;
 	protected boolean hurtSounds = Configuration.HURT_SOUNDS.getDefault();
 	protected boolean holidayThemes = Configuration.HOLIDAY_THEMES.getDefault();
 	protected boolean armorPhysOverride = Configuration.ARMOR_PHYSICS_OVERRIDE.getDefault();
@@ -63,27 +69,6 @@ public class PlayerConfig extends EntityConfig {
 
 	public PlayerConfig(UUID uuid) {
 		super(uuid);
-		this.cfg = new Configuration(this.uuid.toString());
-		this.cfg.set(Configuration.USERNAME, this.uuid);
-		this.cfg.setDefault(Configuration.GENDER);
-		this.cfg.setDefault(Configuration.BUST_SIZE);
-		this.cfg.setDefault(Configuration.HURT_SOUNDS);
-
-		this.cfg.setDefault(Configuration.BREASTS_OFFSET_X);
-		this.cfg.setDefault(Configuration.BREASTS_OFFSET_Y);
-		this.cfg.setDefault(Configuration.BREASTS_OFFSET_Z);
-		this.cfg.setDefault(Configuration.BREASTS_UNIBOOB);
-		this.cfg.setDefault(Configuration.BREASTS_CLEAVAGE);
-
-		this.cfg.setDefault(Configuration.BREAST_PHYSICS);
-		this.cfg.setDefault(Configuration.ARMOR_PHYSICS_OVERRIDE);
-		this.cfg.setDefault(Configuration.SHOW_IN_ARMOR);
-		this.cfg.setDefault(Configuration.BOUNCE_MULTIPLIER);
-		this.cfg.setDefault(Configuration.FLOPPY_MULTIPLIER);
-		this.cfg.setDefault(Configuration.VOICE_PITCH);
-
-		this.cfg.setDefault(Configuration.HOLIDAY_THEMES);
-
 		// Real players always have a UUID of version 4; if this isn't the case, then this is undeniably
 		// an NPC player entity.
 		if(uuid.version() != 4) this.holidayThemes = false;
@@ -93,7 +78,29 @@ public class PlayerConfig extends EntityConfig {
 	@Override
 	public void readFromStack(@NotNull ItemStack chestplate) {}
 
-	public Configuration getConfig() {
+	public synchronized Configuration getConfig() {
+		if(cfg == null) {
+			cfg = new Configuration(this.uuid.toString());
+			cfg.set(Configuration.USERNAME, this.uuid);
+			cfg.setDefault(Configuration.GENDER);
+			cfg.setDefault(Configuration.BUST_SIZE);
+			cfg.setDefault(Configuration.HURT_SOUNDS);
+
+			cfg.setDefault(Configuration.BREASTS_OFFSET_X);
+			cfg.setDefault(Configuration.BREASTS_OFFSET_Y);
+			cfg.setDefault(Configuration.BREASTS_OFFSET_Z);
+			cfg.setDefault(Configuration.BREASTS_UNIBOOB);
+			cfg.setDefault(Configuration.BREASTS_CLEAVAGE);
+
+			cfg.setDefault(Configuration.BREAST_PHYSICS);
+			cfg.setDefault(Configuration.ARMOR_PHYSICS_OVERRIDE);
+			cfg.setDefault(Configuration.SHOW_IN_ARMOR);
+			cfg.setDefault(Configuration.BOUNCE_MULTIPLIER);
+			cfg.setDefault(Configuration.FLOPPY_MULTIPLIER);
+			cfg.setDefault(Configuration.VOICE_PITCH);
+
+			cfg.setDefault(Configuration.HOLIDAY_THEMES);
+		}
 		return cfg;
 	}
 
@@ -176,40 +183,40 @@ public class PlayerConfig extends EntityConfig {
 	}
 
 	/**
-	 * Returns a copy of the player's current configuration. Note that there are no guarantees of any values being valid
-	 * (either type or number ranges), as this taken directly from the loaded JSON file, which may have been modified
-	 * by the user.
+	 * Returns a copy of the player's current configuration. Values for known config keys are always valid, but any
+	 * unrecognized values present in the loaded JSON file are passed through as-is.
 	 *
 	 * @return A new copy of the player's {@link JsonObject saved config values}
 	 */
 	public JsonObject toJson() {
-		return cfg.SAVE_VALUES.deepCopy();
+		return getConfig().toJson();
 	}
 
 	/**
 	 * @return {@code true} if the current player {@link Configuration#exists() has a local config file}
 	 */
 	public boolean hasLocalConfig() {
-		return cfg.exists();
+		return getConfig().exists();
 	}
 
 	/**
 	 * Loads the current player's settings from a file on disk
 	 *
-	 * @param markForSync {@code true} if {@link #needsSync} should be set to true
+	 * @param markForSync {@code true} if the loaded settings should be synced to the server
 	 */
 	public void loadFromDisk(boolean markForSync) {
 		this.syncStatus = SyncStatus.CACHED;
-		cfg.load();
+		getConfig().load();
 		loadFromConfig(markForSync);
 	}
 
 	/**
 	 * Loads the current player's settings from the local {@link Configuration}
 	 *
-	 * @param markForSync {@code true} if {@link #needsSync} should be set to true
+	 * @param markForSync {@code true} if the loaded settings should be synced to the server
 	 */
 	public void loadFromConfig(boolean markForSync) {
+		Configuration cfg = getConfig();
 		updateGender(cfg.get(Configuration.GENDER));
 		updateBustSize(cfg.get(Configuration.BUST_SIZE));
 		updateHurtSounds(cfg.get(Configuration.HURT_SOUNDS));
@@ -230,7 +237,7 @@ public class PlayerConfig extends EntityConfig {
 		breasts.updateCleavage(cfg.get(Configuration.BREASTS_CLEAVAGE));
 
 		if(markForSync) {
-			this.needsSync = true;
+			CHANGES.publish(this, ConfigChangeBus.Channel.SERVER);
 		}
 	}
 
@@ -248,7 +255,7 @@ public class PlayerConfig extends EntityConfig {
 
 	/**
 	 * Save the settings stored in the provided {@link PlayerConfig} to the underlying {@link Configuration},
-	 * and then {@link Configuration#save() attempt to save it to disk}.
+	 * and then {@link #CHANGES publish} the change to be saved to disk and synced.
 	 *
 	 * @param plr The {@link PlayerConfig} to save
 	 */
@@ -274,9 +281,10 @@ public class PlayerConfig extends EntityConfig {
 		config.set(Configuration.BREASTS_UNIBOOB, plr.getBreasts().isUniboob());
 		config.set(Configuration.BREASTS_CLEAVAGE, plr.getBreasts().getCleavage());
 
-		config.save();
-		plr.needsSync = true;
-		plr.needsCloudSync = true;
+		// only publish if something actually changed, as sliders and buttons save even if they end up on the same value
+		if(config.isDirty() || !config.exists()) {
+			CHANGES.publish(plr, ConfigChangeBus.Channel.DISK, ConfigChangeBus.Channel.SERVER, ConfigChangeBus.Channel.CLOUD);
+		}
 	}
 
 	@Override
@@ -284,14 +292,19 @@ public class PlayerConfig extends EntityConfig {
 		throw new UnsupportedOperationException("PlayerConfig does not support #hasJacketLayer(); use PlayerEntity#isPartVisible instead");
 	}
 
+	/**
+	 * Sync this config to the cloud, if it belongs to the client player and automatic syncing is enabled
+	 *
+	 * @return {@code false} if the sync should be retried later
+	 */
 	@ApiStatus.Internal
-	public void attemptCloudSync() {
+	public boolean attemptCloudSync() {
 		var client = MinecraftClient.getInstance();
-		if(client.player == null || !this.uuid.equals(client.player.getUuid())) return;
-		if(!needsCloudSync) return;
-		if(client.currentScreen instanceof BaseWildfireScreen) return;
-		if(!GlobalConfig.INSTANCE.get(GlobalConfig.AUTOMATIC_CLOUD_SYNC)) return;
-		if(CloudSync.syncOnCooldown()) return;
+		if(client.player == null || !this.uuid.equals(client.player.getUuid())) return true;
+		if(!GlobalConfig.INSTANCE.get(GlobalConfig.AUTOMATIC_CLOUD_SYNC)) return true;
+		// wait until the player is done making changes
+		if(client.currentScreen instanceof BaseWildfireScreen) return false;
+		if(CloudSync.syncOnCooldown()) return false;
 
 		CompletableFuture.runAsync(() -> {
 			try {
@@ -303,7 +316,7 @@ public class PlayerConfig extends EntityConfig {
 				SyncLog.add(WildfireLocalization.SYNC_LOG_FAILED_TO_SYNC_DATA);
 			}
 		});
-		needsCloudSync = false;
+		return true;
 	}
 
 	/**
@@ -315,7 +328,7 @@ public class PlayerConfig extends EntityConfig {
 	 * @param json The {@link JsonObject} to merge with the existing config for this player
 	 */
 	public void updateFromJson(@NotNull JsonObject json) {
-		json.asMap().forEach(this.cfg.SAVE_VALUES::add);
+		getConfig().merge(json);
 		loadFromConfig(false);
 		this.syncStatus = SyncStatus.SYNCED;
 	}
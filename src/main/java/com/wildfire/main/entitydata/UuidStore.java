@@ -0,0 +1,257 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.main.entitydata;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Open-addressing hash map keyed on the two halves of a {@link UUID}, used in place of a Guava cache for lookups that
+ * happen for every rendered or ticked entity.</p>
+ *
+ * <p>Reads never lock, and don't do any per-access bookkeeping beyond marking an entry as used since the last sweep;
+ * all writes (adding, removing and sweeping entries) are instead serialized on the store itself, as these are rare in
+ * comparison. Entries that haven't been accessed for a configured number of {@link #sweep() sweeps} are expired
+ * when the next sweep runs.</p>
+ *
+ * <p>Readers racing with a write may briefly see the store as it was before the write, similar to any other
+ * concurrent map.</p>
+ */
+public final class UuidStore<V> {
+	private static final int MIN_CAPACITY = 16;
+	// kept low to keep probe sequences short, as this includes removed entries
+	private static final float MAX_LOAD = 0.5f;
+	private static final Entry<?> TOMBSTONE = new Entry<>(0, 0, null);
+
+	private final Function<UUID, V> loader;
+	private final Consumer<V> removalListener;
+	private final int expireAfterSweeps;
+
+	private volatile Entry<V>[] table = newTable(MIN_CAPACITY);
+	// these are only ever accessed while synchronized on this store
+	private int size = 0, tombstones = 0;
+	private volatile int epoch = 0;
+
+	/**
+	 * Implemented by values which are held onto directly instead of being looked up every time they're used, allowing
+	 * for keeping them from expiring without a lookup
+	 */
+	public interface Touchable {
+		/**
+		 * @return {@code true} if this value was used since the last time this was called
+		 */
+		boolean consumeTouched();
+	}
+
+	/**
+	 * @param loader            Creates the value for a given UUID in {@link #getOrCreate(UUID)}
+	 * @param removalListener   Called with every value removed from the store, be it through expiry or invalidation
+	 * @param expireAfterSweeps How many sweeps an entry can go without being accessed before it's expired,
+	 *                          or {@code 0} to never expire entries
+	 */
+	public UuidStore(Function<UUID, V> loader, Consumer<V> removalListener, int expireAfterSweeps) {
+		this.loader = loader;
+		this.removalListener = removalListener;
+		this.expireAfterSweeps = expireAfterSweeps;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Entry<V>[] newTable(int capacity) {
+		return (Entry<V>[]) new Entry<?>[capacity];
+	}
+
+	private static int hash(long msb, long lsb) {
+		long hash = msb ^ lsb;
+		// murmur3 finalizer; randomly generated UUIDs are already well distributed, but offline mode UUIDs are not
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return (int) hash;
+	}
+
+	public @Nullable V get(UUID id) {
+		long msb = id.getMostSignificantBits(), lsb = id.getLeastSignificantBits();
+		Entry<V>[] table = this.table;
+		int mask = table.length - 1;
+		for(int i = hash(msb, lsb) & mask; ; i = (i + 1) & mask) {
+			Entry<V> entry = table[i];
+			if(entry == null) {
+				return null;
+			}
+			if(entry != TOMBSTONE && entry.msb == msb && entry.lsb == lsb) {
+				int epoch = this.epoch;
+				// only write if this changed, such that steady state reads don't write to shared memory at all
+				if(entry.accessEpoch != epoch) {
+					entry.accessEpoch = epoch;
+				}
+				return entry.value;
+			}
+		}
+	}
+
+	/**
+	 * Get the value for the given UUID, creating it with the loader provided to this store if it isn't present
+	 */
+	public @NotNull V getOrCreate(UUID id) {
+		V value = get(id);
+		if(value != null) {
+			return value;
+		}
+		synchronized(this) {
+			value = get(id);
+			if(value == null) {
+				value = loader.apply(id);
+				insert(new Entry<>(id.getMostSignificantBits(), id.getLeastSignificantBits(), value));
+			}
+			return value;
+		}
+	}
+
+	private void insert(Entry<V> entry) {
+		if(size + tombstones + 1 > table.length * MAX_LOAD) {
+			rehash(size + 1);
+		}
+		entry.accessEpoch = epoch;
+		Entry<V>[] table = this.table;
+		int mask = table.length - 1;
+		int i = hash(entry.msb, entry.lsb) & mask;
+		while(table[i] != null && table[i] != TOMBSTONE) {
+			i = (i + 1) & mask;
+		}
+		if(table[i] == TOMBSTONE) {
+			tombstones--;
+		}
+		table[i] = entry;
+		size++;
+	}
+
+	private void rehash(int minSize) {
+		int capacity = MIN_CAPACITY;
+		while(minSize > capacity * MAX_LOAD) {
+			capacity <<= 1;
+		}
+		Entry<V>[] oldTable = this.table;
+		Entry<V>[] newTable = newTable(capacity);
+		int mask = capacity - 1;
+		for(Entry<V> entry : oldTable) {
+			if(entry == null || entry == TOMBSTONE) continue;
+			int i = hash(entry.msb, entry.lsb) & mask;
+			while(newTable[i] != null) {
+				i = (i + 1) & mask;
+			}
+			newTable[i] = entry;
+		}
+		tombstones = 0;
+		// readers still holding onto the old table continue to see a consistent (if outdated) view of the store
+		this.table = newTable;
+	}
+
+	public void invalidate(UUID id) {
+		V removed = null;
+		synchronized(this) {
+			long msb = id.getMostSignificantBits(), lsb = id.getLeastSignificantBits();
+			Entry<V>[] table = this.table;
+			int mask = table.length - 1;
+			for(int i = hash(msb, lsb) & mask; table[i] != null; i = (i + 1) & mask) {
+				Entry<V> entry = table[i];
+				if(entry != TOMBSTONE && entry.msb == msb && entry.lsb == lsb) {
+					markRemoved(table, i);
+					removed = entry.value;
+					break;
+				}
+			}
+		}
+		if(removed != null) {
+			removalListener.accept(removed);
+		}
+	}
+
+	public void invalidateAll() {
+		List<V> removed = new ArrayList<>();
+		synchronized(this) {
+			for(Entry<V> entry : table) {
+				if(entry != null && entry != TOMBSTONE) {
+					removed.add(entry.value);
+				}
+			}
+			this.table = newTable(MIN_CAPACITY);
+			size = 0;
+			tombstones = 0;
+		}
+		removed.forEach(removalListener);
+	}
+
+	/**
+	 * Expire any entries which haven't been accessed in the configured amount of sweeps; this should be called
+	 * periodically, with the interval between calls determining how long entries are kept for.
+	 */
+	public void sweep() {
+		if(expireAfterSweeps <= 0) return;
+		List<V> removed = new ArrayList<>();
+		synchronized(this) {
+			int epoch = ++this.epoch;
+			Entry<V>[] table = this.table;
+			for(int i = 0; i < table.length; i++) {
+				Entry<V> entry = table[i];
+				if(entry == null || entry == TOMBSTONE) continue;
+				if(entry.value instanceof Touchable touchable && touchable.consumeTouched()) {
+					entry.accessEpoch = epoch;
+				} else if(epoch - entry.accessEpoch >= expireAfterSweeps) {
+					markRemoved(table, i);
+					removed.add(entry.value);
+				}
+			}
+			if(tombstones > size) {
+				rehash(size);
+			}
+		}
+		removed.forEach(removalListener);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void markRemoved(Entry<V>[] table, int index) {
+		table[index] = (Entry<V>) TOMBSTONE;
+		size--;
+		tombstones++;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	private static final class Entry<V> {
+		private final long msb, lsb;
+		private final V value;
+		// the sweep epoch this was last accessed in; races on this are benign, and at worst expire an entry a sweep early
+		private int accessEpoch;
+
+		private Entry(long msb, long lsb, V value) {
+			this.msb = msb;
+			this.lsb = lsb;
+			this.value = value;
+		}
+	}
+}
@@ -90,12 +90,13 @@ public final class WildfireSync {
 	 * Send the client player's configuration to the server for syncing to other players
 	 *
 	 * @param plr The {@link PlayerConfig configuration} for the client player
+	 * @return {@code false} if the server can't currently accept the sync
 	 */
 	@Environment(EnvType.CLIENT)
-	public static void sendToServer(@NotNull PlayerConfig plr) {
-		if(!plr.needsSync || !ServerboundSyncPacket.canSend()) return;
+	public static boolean sendToServer(@NotNull PlayerConfig plr) {
+		if(!ServerboundSyncPacket.canSend()) return false;
 
 		ClientPlayNetworking.send(new ServerboundSyncPacket(plr));
-		plr.needsSync = false;
+		return true;
 	}
 }
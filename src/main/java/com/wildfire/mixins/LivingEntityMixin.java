@@ -20,6 +20,8 @@ package com.wildfire.mixins;
 
 import com.wildfire.events.EntityHurtSoundEvent;
 import com.wildfire.events.EntityTickEvent;
+import com.wildfire.main.entitydata.EntityConfig;
+import com.wildfire.main.entitydata.EntityConfigHolder;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.entity.Entity;
@@ -27,18 +29,33 @@ import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Implements;
+import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(LivingEntity.class)
+@Implements(@Interface(iface = EntityConfigHolder.class, prefix = "wildfire_gender$"))
 @Environment(EnvType.CLIENT)
 abstract class LivingEntityMixin extends Entity {
+	private @Unique @Nullable EntityConfig wildfire_gender$entityConfig = null;
+
 	private LivingEntityMixin(EntityType<?> type, World world) {
 		super(type, world);
 	}
 
+	public @Nullable EntityConfig wildfire_gender$getEntityConfig() {
+		return wildfire_gender$entityConfig;
+	}
+
+	public void wildfire_gender$setEntityConfig(@Nullable EntityConfig config) {
+		this.wildfire_gender$entityConfig = config;
+	}
+
 	// TODO would it be worth adding an extra @Inject to #animateDamage(float) to account for servers (namely hypixel)
 	//		using DamageTiltS2CPacket instead of the standard entity damage packet?
 	@Inject(
@@ -47,5 +47,9 @@ abstract class LivingEntityRendererMixin {
 	@Inject(method = "updateRenderState(Lnet/minecraft/entity/LivingEntity;Lnet/minecraft/client/render/entity/state/LivingEntityRenderState;F)V", at = @At("TAIL"))
 	public void wildfiregender$captureEntityRenderState(LivingEntity entity, LivingEntityRenderState state, float tickDelta, CallbackInfo ci) {
 		((RenderStateEntityCapture)state).setEntity(entity);
+		// compute everything needed to render breasts once here, rather than once for every layer; this also uses
+		// the same tick delta the rest of the render state was interpolated with, which accounts for entities
+		// that aren't currently being ticked (such as with /tick freeze)
+		((RenderStateEntityCapture)state).getBreastRenderState().update(entity, state, tickDelta);
 	}
 }
@@ -18,114 +18,115 @@
 
 package com.wildfire.physics;
 
-import com.wildfire.api.IGenderArmor;
-import com.wildfire.main.entitydata.EntityConfig;
-import com.wildfire.main.WildfireHelper;
-import net.fabricmc.api.EnvType;
-import net.fabricmc.api.Environment;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityPose;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.decoration.ArmorStandEntity;
-import net.minecraft.entity.passive.*;
-import net.minecraft.entity.vehicle.BoatEntity;
-import net.minecraft.entity.vehicle.MinecartEntity;
-import net.minecraft.util.Arm;
-import net.minecraft.util.Hand;
-import net.minecraft.util.math.MathHelper;
-import net.minecraft.util.math.Vec3d;
-
+/**
+ * <p>Per-breast physics view over a single {@link PhysicsWorld} slot.</p>
+ *
+ * <p>This only ever reads from a {@link PhysicsInput} snapshot and its own seeded random source, and has no
+ * dependency on the game itself; reading the relevant state from an entity is instead handled by
+ * {@link EntityPhysicsAdapter}.</p>
+ */
 public class BreastPhysics {
 
-	//X-Axis
-	private float bounceVelX = 0, targetBounceX = 0, velocityX = 0, positionX, prePositionX;
-	//Y-Axis
-	private float bounceVel = 0, targetBounceY = 0, velocity = 0, positionY, prePositionY;
-	//Rotation
-	private float bounceRotVel = 0, targetRotVel = 0, rotVelocity = 0, wfg_bounceRotation, wfg_preBounceRotation;
-
-	private float breastSize = 0, preBreastSize = 0;
-
-	private EntityPose lastPose;
+	// spring state is stored in the shared physics world, as this is updated for every tracked entity each tick;
+	// see PhysicsWorld for more details
+	private static final PhysicsWorld WORLD = PhysicsWorld.INSTANCE;
+	// package-private for PhysicsSnapshot
+	int slot = -1;
+	private boolean frozen;
+	// the rest pose that this was last frozen at
+	private float frozenBreastSize, frozenPositionY;
+
+	// below this limb animation speed, the walking bounce is too small to be noticeable
+	private static final float LIMB_SPEED_EPSILON = 1.0E-3F;
+	// inputs from the last tick, used to detect when the physics can be put to sleep
+	private float lastTargetBreastSize = Float.NaN, lastBounceMultiplier = Float.NaN, lastFloppiness = Float.NaN,
+			lastArmorResistance = Float.NaN;
+
+	private int lastPose = -1;
 	private int lastSwingDuration = 6, lastSwingTick = 0;
-	private Vec3d prePos;
+	private double prePosX, prePosY, prePosZ;
+	private boolean hasPrePos;
 
-	private final EntityConfig entityConfig;
+	private final PhysicsRandom random;
 	private int randomB = 1;
 	private double lastVerticalMoveVelocity;
 
-	public BreastPhysics(EntityConfig entityConfig) {
-		this.entityConfig = entityConfig;
+	/**
+	 * @param seed The seed used for all randomness in this instance's physics; two instances given the same seed
+	 *             and inputs will always produce the same output
+	 */
+	public BreastPhysics(long seed) {
+		this.random = new PhysicsRandom(seed);
 	}
 
-	private static boolean vehicleSuppressesRotation(Entity vehicle) {
-		return
-				// while you aren't able to normally ride chickens in vanilla, it is still possible through
-				// means like /ride, and as chickens attempt to force the rider's body yaw to the same yaw
-				// as the chicken (which is likely intended only for baby zombies), this results in unintended
-				// behavior with what we're doing
-				vehicle instanceof ChickenEntity
-				// unsaddled horses (and llamas, which also extend AbstractDonkeyEntity?) also break rotation
-				// physics, despite acting similarly to other entities where the rider's body yaw is allowed to
-				// (somewhat) freely move around
-				|| vehicle instanceof AbstractHorseEntity horseLike && !horseLike.isSaddled()
-				// camels also suffer from largely the same issue as unsaddled horses when sitting or standing up
-				|| vehicle instanceof CamelEntity camel && camel.isStationary();
+	/**
+	 * Release the {@link PhysicsWorld} slot held by this instance, if any
+	 */
+	public void release() {
+		WORLD.release(slot);
+		slot = -1;
 	}
 
-	private static boolean shouldUseVehicleYaw(LivingEntity rider, Entity vehicle) {
-		return vehicle.hasControllingPassenger()
-				// boats will typically be caught by the above #hasControllingPassenger() check, but still
-				// special case these to catch any weird modded cases that might arise
-				|| vehicle instanceof BoatEntity
-				// general catch-all for other entities that force the rider's body yaw to match theirs,
-				// such as horses
-				|| vehicle.getBodyYaw() == rider.getBodyYaw();
+	public void update(PhysicsInput input) {
+		update(input, 1);
 	}
 
-	private static float calcRotation(LivingEntity entity, float bounceIntensity) {
-		Entity vehicle = entity.getVehicle();
-		if(vehicle != null) {
-			if(vehicleSuppressesRotation(vehicle)) {
-				return 0f;
-			} else if(shouldUseVehicleYaw(entity, vehicle)) {
-				if(vehicle instanceof LivingEntity livingVehicle) {
-					return -((livingVehicle.bodyYaw - livingVehicle.prevBodyYaw) / 15f) * bounceIntensity;
-				} else {
-					return -((vehicle.getYaw() - vehicle.prevYaw) / 15f) * bounceIntensity;
-				}
-			}
+	/**
+	 * Update physics from the given input snapshot, catching up on any ticks that were skipped since the last update
+	 *
+	 * @param input The state of the owning entity this tick, as captured by {@link EntityPhysicsAdapter#capture}
+	 * @param ticks The number of ticks that have passed since the last update
+	 */
+	public void update(PhysicsInput input, int ticks) {
+		allocateSlot();
+		update(slot, input, ticks);
+	}
+
+	/**
+	 * Run an update deferred by {@link PhysicsWorld#submit}, which may be called from a worker thread
+	 */
+	void updateQueued(PhysicsInput input, int ticks) {
+		// read the slot only once, as this may be released from another thread while the update is running; released
+		// slots only return to the free list at the start of the next step, so any values written to it are discarded
+		int slot = this.slot;
+		if(slot != -1) {
+			update(slot, input, ticks);
 		}
+	}
 
-		return -((entity.bodyYaw - entity.prevBodyYaw) / 15f) * bounceIntensity;
+	void allocateSlot() {
+		if(slot == -1) {
+			slot = WORLD.allocate(this);
+		}
 	}
 
-	// this class cannot be blanket marked as client-side only, as this is referenced in the constructor for EntityConfig;
-	// as such, the best we can get here is marking this method as such.
-	@Environment(EnvType.CLIENT)
-	public void update(LivingEntity entity, IGenderArmor armor) {
+	private void update(int slot, PhysicsInput input, int ticks) {
+		frozen = false;
+
 		// always suppress the full physics calculations on armor stands
-		if(entity instanceof ArmorStandEntity) {
-			if(entityConfig.getGender().canHaveBreasts()) {
-				this.breastSize = entityConfig.getBustSize();
-				if(!entityConfig.getArmorPhysicsOverride()) {
-					float tightness = MathHelper.clamp(armor.tightness(), 0, 1);
-					this.breastSize *= 1 - 0.15F * tightness;
+		if(input.armorStand) {
+			if(input.canHaveBreasts) {
+				float size = input.bustSize;
+				if(!input.armorPhysicsOverride) {
+					size *= 1 - 0.15F * input.armorTightness;
 				}
-				this.preBreastSize = this.breastSize;
+				WORLD.preBreastSize[slot] = WORLD.breastSize[slot] = size;
 			} else {
-				this.preBreastSize = this.breastSize = 0f;
+				WORLD.preBreastSize[slot] = WORLD.breastSize[slot] = 0f;
 			}
 			return;
 		}
 
-		this.prePositionY = this.positionY;
-		this.prePositionX = this.positionX;
-		this.wfg_preBounceRotation = this.wfg_bounceRotation;
-		this.preBreastSize = this.breastSize;
+		WORLD.prePositionY[slot] = WORLD.positionY[slot];
+		WORLD.prePositionX[slot] = WORLD.positionX[slot];
+		WORLD.preBounceRotation[slot] = WORLD.bounceRotation[slot];
+		WORLD.preBreastSize[slot] = WORLD.breastSize[slot];
 
-		if(this.prePos == null) {
-			this.prePos = entity.getPos();
+		if(!this.hasPrePos) {
+			this.prePosX = input.x;
+			this.prePosY = input.y;
+			this.prePosZ = input.z;
+			this.hasPrePos = true;
 			return;
 		}
 
@@ -167,108 +168,121 @@ public class BreastPhysics {
 			}
 		}*/ //unused currently, might be later
 
-		float breastWeight = entityConfig.getBustSize() * 1.25f;
-		float targetBreastSize = entityConfig.getBustSize();
+		float breastWeight = input.bustSize * 1.25f;
+		float targetBreastSize = input.bustSize;
 
-		if (!entityConfig.getGender().canHaveBreasts()) {
+		if (!input.canHaveBreasts) {
 			targetBreastSize = 0;
 		} else {
-			float tightness = MathHelper.clamp(armor.tightness(), 0, 1);
-			if(entityConfig.getArmorPhysicsOverride()) tightness = 0; //override resistance
+			float tightness = input.armorTightness;
+			if(input.armorPhysicsOverride) tightness = 0; //override resistance
 			//Scale breast size by how tight the armor is, clamping at a max adjustment of shrinking by 0.15
 			targetBreastSize *= 1 - 0.15F * tightness;
 		}
 
-		breastSize += (breastSize < targetBreastSize) ? Math.abs(breastSize - targetBreastSize) / 2f : -Math.abs(breastSize - targetBreastSize) / 2f;
-
-		Vec3d motion = entity.getPos().subtract(this.prePos);
-		this.prePos = entity.getPos();
-
-		float bounceIntensity = (targetBreastSize * 3f) * Math.round((entityConfig.getBounceMultiplier() * 3) * 100) / 100f;
-		float resistance = MathHelper.clamp(armor.physicsResistance(), 0, 1);
-		if(entityConfig.getArmorPhysicsOverride()) resistance = 0; //override resistance
+		// if nothing that could move the springs has changed since the last tick, and the springs have already
+		// settled, then there's no need to do anything beyond keeping the previous tick's state
+		boolean idle = isIdle(input, targetBreastSize);
+		if(idle && WORLD.sleeping[slot]) {
+			return;
+		}
+		WORLD.wake(slot);
+		lastArmorResistance = input.armorResistance;
+		lastTargetBreastSize = targetBreastSize;
+		lastBounceMultiplier = input.bounceMultiplier;
+		lastFloppiness = input.floppiness;
+
+		float breastSize = WORLD.breastSize[slot];
+		WORLD.breastSize[slot] = breastSize + ((breastSize < targetBreastSize) ? Math.abs(breastSize - targetBreastSize) / 2f : -Math.abs(breastSize - targetBreastSize) / 2f);
+
+		// average out any movement over the ticks we're catching up on
+		double motionY = input.y - this.prePosY;
+		if(ticks > 1) motionY /= ticks;
+		this.prePosX = input.x;
+		this.prePosY = input.y;
+		this.prePosZ = input.z;
+
+		float bounceIntensity = (targetBreastSize * 3f) * Math.round((input.bounceMultiplier * 3) * 100) / 100f;
+		float resistance = input.armorResistance;
+		if(input.armorPhysicsOverride) resistance = 0; //override resistance
 
 		//Adjust bounce intensity by physics resistance of the worn armor
 		bounceIntensity *= 1 - resistance;
 
-		if(!entityConfig.getBreasts().isUniboob()) {
-			bounceIntensity = bounceIntensity * WildfireHelper.randFloat(0.5f, 1.5f);
+		if(!input.uniboob) {
+			// note that this is intentionally [0.5, 2.5) to match the previous use of WildfireHelper#randFloat,
+			// which adds 1 to the upper bound
+			bounceIntensity = bounceIntensity * random.nextFloat(0.5f, 2.5f);
 		}
 
-		double vertVelocity = entity.getVelocity().y;
+		double vertVelocity = input.velocityY;
 		// Randomize which side the breast will angle toward when the player jumps/has upward velocity applied to them,
 		// or stops falling
 		if((lastVerticalMoveVelocity <= 0 && vertVelocity > 0) || (lastVerticalMoveVelocity < 0 && vertVelocity == 0)) {
-			randomB = entity.getWorld().random.nextBoolean() ? -1 : 1;
+			randomB = random.nextBoolean() ? -1 : 1;
 		}
 		lastVerticalMoveVelocity = vertVelocity;
 
-		this.targetBounceY = (float) motion.y * bounceIntensity;
-		this.targetBounceY += breastWeight;
-		float horizVel = (float) Math.sqrt(Math.pow(motion.x, 2) + Math.pow(motion.z, 2)) * (bounceIntensity);
+		float targetBounceY = (float) motionY * bounceIntensity;
+		targetBounceY += breastWeight;
 
-		this.targetRotVel = calcRotation(entity, bounceIntensity);
-		this.targetRotVel += (float) motion.y * bounceIntensity * randomB;
+		float rotation = input.yawRotation * bounceIntensity;
+		float targetRotVel = rotation;
+		targetRotVel += (float) motionY * bounceIntensity * randomB;
 
-		this.targetBounceX = -calcRotation(entity, bounceIntensity) / 10f;
+		float targetBounceX = -rotation / 10f;
 
-		float f2 = (float) entity.getVelocity().lengthSquared() / 0.2F;
+		float f2 = (float) input.velocityLengthSq / 0.2F;
 		f2 = f2 * f2 * f2;
 		if(f2 < 1.0F) f2 = 1.0F;
-		this.targetBounceY += MathHelper.cos(entity.limbAnimator.getPos() * 0.6662F + (float)Math.PI) * 0.5F * entity.limbAnimator.getSpeed() * 0.5F / f2;
+		targetBounceY += (float) Math.cos(input.limbPos * 0.6662F + (float)Math.PI) * 0.5F * input.limbSpeed * 0.5F / f2;
 
-		EntityPose pose = entity.getPose();
+		int pose = input.pose;
 		if(pose != lastPose) {
-			if(pose == EntityPose.CROUCHING || lastPose == EntityPose.CROUCHING) {
-				this.targetBounceY += bounceIntensity;
-			} else if(pose == EntityPose.SLEEPING || lastPose == EntityPose.SLEEPING) {
-				this.targetBounceY = bounceIntensity;
+			if(pose == PhysicsInput.POSE_CROUCHING || lastPose == PhysicsInput.POSE_CROUCHING) {
+				targetBounceY += bounceIntensity;
+			} else if(pose == PhysicsInput.POSE_SLEEPING || lastPose == PhysicsInput.POSE_SLEEPING) {
+				targetBounceY = bounceIntensity;
 			}
 			lastPose = pose;
 		}
 
 		//button option for extra entities
-		if(entity.getVehicle() != null) {
-			if(entity.getVehicle() instanceof BoatEntity boat) {
-				int rowTime = (int) boat.lerpPaddlePhase(0, entity.limbAnimator.getPos());
-				int rowTime2 = (int) boat.lerpPaddlePhase(1, entity.limbAnimator.getPos());
-
-				float rotationL = (float) MathHelper.clampedLerp(-(float)Math.PI / 3F, -0.2617994F, (double) ((MathHelper.sin(-rowTime2) + 1.0F) / 2.0F));
-				float rotationR = (float) MathHelper.clampedLerp(-(float)Math.PI / 4F, (float)Math.PI / 4F, (double) ((MathHelper.sin(-rowTime + 1.0F) + 1.0F) / 2.0F));
-				if(rotationL < -1 || rotationR < -0.6f) {
-					this.targetBounceY = bounceIntensity / 3.25f;
+		switch(input.vehicle) {
+			case PhysicsInput.VEHICLE_BOAT -> {
+				if(input.boatRowBounce) {
+					targetBounceY = bounceIntensity / 3.25f;
 				}
-			} else if(entity.getVehicle() instanceof MinecartEntity cart) {
-				float speed = (float) cart.getVelocity().lengthSquared();
-				if(Math.random() * speed < 0.5f && speed > 0.2f) {
-					this.targetBounceY = (Math.random() > 0.5 ? -bounceIntensity : bounceIntensity) / 6f;
-					this.targetBounceY += breastWeight;
+			}
+			case PhysicsInput.VEHICLE_MINECART -> {
+				float speed = input.vehicleMovement;
+				if(random.nextDouble() * speed < 0.5f && speed > 0.2f) {
+					targetBounceY = (random.nextBoolean() ? -bounceIntensity : bounceIntensity) / 6f;
+					targetBounceY += breastWeight;
 				}
-			} else if(entity.getVehicle() instanceof AbstractHorseEntity horse) {
-				float movement = (float) horse.getVelocity().lengthSquared();
-				if(horse.age % clampMovement(movement) == 5 && movement > 0.05f) {
-					this.targetBounceY = bounceIntensity / 4f;
-					this.targetBounceY += breastWeight;
+			}
+			case PhysicsInput.VEHICLE_HORSE -> {
+				float movement = input.vehicleMovement;
+				if(input.vehicleAge % clampMovement(movement) == 5 && movement > 0.05f) {
+					targetBounceY = bounceIntensity / 4f;
+					targetBounceY += breastWeight;
 				}
-			} else if(entity.getVehicle() instanceof PigEntity pig) {
-				float movement = (float) pig.getVelocity().lengthSquared();
-				if(pig.age % clampMovement(movement) == 5 && movement > 0.002f) {
-					this.targetBounceY = (bounceIntensity * MathHelper.clamp(movement * 75, 0.1f, 1f)) / 4f;
-					this.targetBounceY += breastWeight;
+			}
+			case PhysicsInput.VEHICLE_PIG -> {
+				float movement = input.vehicleMovement;
+				if(input.vehicleAge % clampMovement(movement) == 5 && movement > 0.002f) {
+					targetBounceY = (bounceIntensity * Math.clamp(movement * 75, 0.1f, 1f)) / 4f;
+					targetBounceY += breastWeight;
 				}
-			} else if(entity.getVehicle() instanceof StriderEntity strider) {
-				double heightOffset = (double)strider.getHeight() - 0.19
-						+ (double)(0.12F * MathHelper.cos(strider.limbAnimator.getPos() * 1.5f)
-						* 2F * Math.min(0.25F, strider.limbAnimator.getSpeed()));
-				this.targetBounceY += ((float) (heightOffset * 3f) - 4.5f) * bounceIntensity;
 			}
+			case PhysicsInput.VEHICLE_STRIDER -> targetBounceY += ((float) (input.striderHeightOffset * 3f) - 4.5f) * bounceIntensity;
 		}
 
-		int swingDuration = entity.getHandSwingDuration();
+		int swingDuration = input.handSwingDuration;
 		// Require that either the current swing duration is 2 ticks, or the swing duration from the previous tick is,
 		// as any faster and the arm effectively doesn't swing at all; we check the previous tick's swing duration for
 		// reasons explained later on in this block
-		if((swingDuration > 1 || lastSwingDuration > 1) && pose != EntityPose.SLEEPING) {
+		if((swingDuration > 1 || lastSwingDuration > 1) && pose != PhysicsInput.POSE_SLEEPING) {
 
 			float amplifier = 0f;
 			if(swingDuration < 6) {
@@ -277,21 +291,20 @@ public class BreastPhysics {
 				amplifier = -0.067f * (swingDuration - 6);
 			}
 			// Cap our amplifier at the swing durations of Mining Fatigue III/Haste II
-			amplifier = MathHelper.clamp(1 + amplifier, 0.6f, 1.3f);
+			amplifier = Math.clamp(1 + amplifier, 0.6f, 1.3f);
 
 			// consistently apply even with short swing durations, such as with haste
-			int everyNthTick = MathHelper.clamp(swingDuration - 1, 1, 5);
-			if(entity.handSwinging && entity.age % everyNthTick == 0) {
-				float hasteMult = MathHelper.clamp(everyNthTick / 5f, 0.4f, 1f);
-				this.targetBounceY += (Math.random() > 0.5 ? -0.25f : 0.25f) * amplifier * bounceIntensity * hasteMult;
+			int everyNthTick = Math.clamp(swingDuration - 1, 1, 5);
+			if(input.handSwinging && input.age % everyNthTick == 0) {
+				float hasteMult = Math.clamp(everyNthTick / 5f, 0.4f, 1f);
+				targetBounceY += (random.nextBoolean() ? -0.25f : 0.25f) * amplifier * bounceIntensity * hasteMult;
 
 
-				this.targetBounceX = (0.5f * bounceIntensity) * (entity.getMainArm()==Arm.RIGHT?1f:-1f);
+				targetBounceX = (0.5f * bounceIntensity) * (input.mainArmRight?1f:-1f);
 			}
 
-			int swingTickDelta = entity.handSwingTicks - lastSwingTick;
-			float swingProgress = distanceFromMedian(0, lastSwingDuration, MathHelper.clamp(lastSwingTick, 0, lastSwingDuration));
-			Arm swingingArm = entity.preferredHand == Hand.MAIN_HAND ? entity.getMainArm() : entity.getMainArm().getOpposite();
+			int swingTickDelta = input.handSwingTicks - lastSwingTick;
+			float swingProgress = distanceFromMedian(0, lastSwingDuration, Math.clamp(lastSwingTick, 0, lastSwingDuration));
 
 			if(swingTickDelta < 0 && lastSwingTick != lastSwingDuration - 1) {
 				// Add a bit of counter-rotation back toward the currently swinging arm if the previous arm swing
@@ -299,16 +312,16 @@ public class BreastPhysics {
 				// Note that we don't check if the player's arm is currently swinging here to account for cases like
 				// haste being used to reset a player's swing; one notable example of this is Wynncraft's spell casting,
 				// which applies haste to the player when a spell is successfully cast.
-				this.targetRotVel += (swingingArm == Arm.RIGHT ? -2.5f : 2.5f) * Math.abs(swingProgress) * bounceIntensity;
-			} else if(entity.handSwinging && swingDuration > 1) {
+				targetRotVel += (input.swingingArmRight ? -2.5f : 2.5f) * Math.abs(swingProgress) * bounceIntensity;
+			} else if(input.handSwinging && swingDuration > 1) {
 				// Otherwise if the swing animation isn't interrupted, attempt to rotate slightly counter to the
 				// direction that the body is currently moving
-				Arm swingingToward = swingProgress > 0f ? swingingArm.getOpposite() : swingingArm;
-				this.targetRotVel += (swingingToward == Arm.RIGHT ? -0.2f : 0.2f) * amplifier * bounceIntensity;
+				boolean swingingTowardRight = swingProgress > 0f != input.swingingArmRight;
+				targetRotVel += (swingingTowardRight ? -0.2f : 0.2f) * amplifier * bounceIntensity;
 			}
-			lastSwingTick = entity.handSwingTicks;
+			lastSwingTick = input.handSwingTicks;
 		}
-		if(!entity.handSwinging) {
+		if(!input.handSwinging) {
 			lastSwingTick = 0;
 		}
 		lastSwingDuration = Math.max(swingDuration, 1);
@@ -319,12 +332,12 @@ public class BreastPhysics {
 		}*/
 
 
-		float percent =  entityConfig.getFloppiness();
+		float percent =  input.floppiness;
 		float bounceAmount = 0.45f * (1f - percent) + 0.15f; //0.6f * percent - 0.15f;
-		bounceAmount = MathHelper.clamp(bounceAmount, 0.15f, 0.6f);
-		float delta = 2.25f - bounceAmount;
+		bounceAmount = Math.clamp(bounceAmount, 0.15f, 0.6f);
 		//if(plr.isInWater()) delta = 0.75f - (1f * bounceAmount); //water resistance
 
+		float bounceVel = WORLD.bounceVelY[slot];
 		float distanceFromMin = Math.abs(bounceVel + 1.5f) * 0.5f;
 		float distanceFromMax = Math.abs(bounceVel - 2.65f) * 0.5f;
 
@@ -335,54 +348,103 @@ public class BreastPhysics {
 			targetBounceY -= distanceFromMax;
 		}
 
-		targetBounceY = MathHelper.clamp(targetBounceY, -1.5f, 2.5f);
-		targetRotVel = MathHelper.clamp(targetRotVel, -25f, 25f);
-
-		this.velocity = MathHelper.lerp(bounceAmount, this.velocity, (this.targetBounceY - this.bounceVel) * delta);
-		this.bounceVel += this.velocity * percent * 1.1625f;
-
-		//X
-		this.velocityX = MathHelper.lerp(bounceAmount, this.velocityX, (this.targetBounceX - this.bounceVelX) * delta);
-		this.bounceVelX += this.velocityX * percent;
+		// the springs themselves are integrated for every entity at once in PhysicsWorld#step
+		WORLD.targetBounceY[slot] = Math.clamp(targetBounceY, -1.5f, 2.5f);
+		WORLD.targetRotVel[slot] = Math.clamp(targetRotVel, -25f, 25f);
+		WORLD.targetBounceX[slot] = targetBounceX;
+		WORLD.bounceAmount[slot] = bounceAmount;
+		WORLD.floppiness[slot] = percent;
+		WORLD.steps[slot] = Math.max(ticks, 1);
+		WORLD.idle[slot] = idle;
+		WORLD.pending[slot] = true;
+	}
 
-		this.rotVelocity = MathHelper.lerp(bounceAmount, this.rotVelocity, (this.targetRotVel - this.bounceRotVel) * delta);
-		this.bounceRotVel += this.rotVelocity * percent;
+	/**
+	 * Check if none of the inputs that could move the springs have changed since the last tick
+	 */
+	private boolean isIdle(PhysicsInput input, float targetBreastSize) {
+		return input.x == prePosX && input.y == prePosY && input.z == prePosZ
+				&& input.yawRotation == 0f
+				&& input.vehicle == PhysicsInput.VEHICLE_NONE
+				&& input.pose == lastPose
+				&& !input.handSwinging && input.handSwingTicks == 0 && lastSwingTick == 0
+				&& input.limbSpeed < LIMB_SPEED_EPSILON
+				&& input.velocityY == lastVerticalMoveVelocity
+				&& input.armorResistance == lastArmorResistance
+				&& targetBreastSize == lastTargetBreastSize
+				&& input.bounceMultiplier == lastBounceMultiplier
+				&& input.floppiness == lastFloppiness;
+	}
 
-		this.wfg_bounceRotation = this.bounceRotVel;
-		this.positionX = this.bounceVelX;
-		this.positionY = this.bounceVel;
+	/**
+	 * Hold the current physics state in place for this tick, without advancing the simulation
+	 */
+	public void hold() {
+		if(slot == -1) return;
+		WORLD.prePositionY[slot] = WORLD.positionY[slot];
+		WORLD.prePositionX[slot] = WORLD.positionX[slot];
+		WORLD.preBounceRotation[slot] = WORLD.bounceRotation[slot];
+		WORLD.preBreastSize[slot] = WORLD.breastSize[slot];
+	}
 
-		if(this.positionY < -0.5f) this.positionY = -0.5f;
-		if(this.positionY > 1.5f) {
-			this.positionY = 1.5f;
-			this.velocity = 0;
+	/**
+	 * Snap this instance to its rest pose, and keep it there until the next {@link #update full update}; this
+	 * snaps again if the rest pose changes while frozen, such as from the entity changing its settings or armor
+	 */
+	public void freeze(PhysicsInput input) {
+		float targetBreastSize = 0f;
+		if(input.canHaveBreasts) {
+			float tightness = input.armorPhysicsOverride ? 0 : input.armorTightness;
+			targetBreastSize = input.bustSize * (1 - 0.15F * tightness);
 		}
-
+		float restY = Math.clamp(input.bustSize * 1.25f, -0.5f, 1.5f);
+		if(frozen && slot != -1 && targetBreastSize == frozenBreastSize && restY == frozenPositionY) return;
+
+		allocateSlot();
+		frozen = true;
+		frozenBreastSize = targetBreastSize;
+		frozenPositionY = restY;
+		// force the next update to re-capture the entity's position, as otherwise we'd treat all the movement
+		// made while frozen as having happened in a single tick
+		hasPrePos = false;
+
+		WORLD.preBreastSize[slot] = WORLD.breastSize[slot] = targetBreastSize;
+		WORLD.bounceVelY[slot] = WORLD.targetBounceY[slot] = WORLD.prePositionY[slot] = WORLD.positionY[slot] = restY;
+		WORLD.bounceVelX[slot] = WORLD.targetBounceX[slot] = WORLD.prePositionX[slot] = WORLD.positionX[slot] = 0;
+		WORLD.bounceRotVel[slot] = WORLD.targetRotVel[slot] = WORLD.preBounceRotation[slot] = WORLD.bounceRotation[slot] = 0;
+		WORLD.velocityX[slot] = WORLD.velocityY[slot] = WORLD.rotVelocity[slot] = 0;
+		WORLD.pending[slot] = false;
+		WORLD.wake(slot);
 	}
 
+	// the following getters read the live simulation state; anything rendering should instead read from
+	// PhysicsWorld#getSnapshot(), as this state may be in the middle of being updated
+
 	public float getBreastSize(float partialTicks) {
-		return MathHelper.lerp(partialTicks, preBreastSize, breastSize);
+		if(slot == -1) return 0f;
+		float pre = WORLD.preBreastSize[slot];
+		return pre + partialTicks * (WORLD.breastSize[slot] - pre);
 	}
 
 	public float getPrePositionY() {
-		return this.prePositionY;
+		return slot == -1 ? 0f : WORLD.prePositionY[slot];
 	}
 	public float getPositionY() {
-		return this.positionY;
+		return slot == -1 ? 0f : WORLD.positionY[slot];
 	}
 
 	public float getPrePositionX() {
-		return this.prePositionX;
+		return slot == -1 ? 0f : WORLD.prePositionX[slot];
 	}
 	public float getPositionX() {
-		return this.positionX;
+		return slot == -1 ? 0f : WORLD.positionX[slot];
 	}
 
 	public float getBounceRotation() {
-		return this.wfg_bounceRotation;
+		return slot == -1 ? 0f : WORLD.bounceRotation[slot];
 	}
 	public float getPreBounceRotation() {
-		return this.wfg_preBounceRotation;
+		return slot == -1 ? 0f : WORLD.preBounceRotation[slot];
 	}
 
 	private int clampMovement(float movement) {
@@ -0,0 +1,169 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.main.entitydata.EntityConfig;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.entity.passive.*;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.entity.vehicle.MinecartEntity;
+import net.minecraft.util.Arm;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Reads the state of an entity and its config into a {@link PhysicsInput}, for use with {@link BreastPhysics}.
+ */
+@Environment(EnvType.CLIENT)
+public final class EntityPhysicsAdapter {
+	private EntityPhysicsAdapter() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Capture the current state of the provided entity into the given snapshot
+	 */
+	public static void capture(LivingEntity entity, EntityConfig config, IGenderArmor armor, PhysicsInput input) {
+		captureSettings(config, armor, input);
+		input.armorStand = entity instanceof ArmorStandEntity;
+		if(input.armorStand) return;
+
+		Vec3d pos = entity.getPos();
+		input.x = pos.x;
+		input.y = pos.y;
+		input.z = pos.z;
+		Vec3d velocity = entity.getVelocity();
+		input.velocityY = velocity.y;
+		input.velocityLengthSq = velocity.lengthSquared();
+		input.limbPos = entity.limbAnimator.getPos();
+		input.limbSpeed = entity.limbAnimator.getSpeed();
+		EntityPose pose = entity.getPose();
+		input.pose = pose == EntityPose.CROUCHING ? PhysicsInput.POSE_CROUCHING
+				: pose == EntityPose.SLEEPING ? PhysicsInput.POSE_SLEEPING
+				: PhysicsInput.POSE_OTHER;
+		input.age = entity.age;
+
+		input.handSwinging = entity.handSwinging;
+		input.handSwingTicks = entity.handSwingTicks;
+		input.handSwingDuration = entity.getHandSwingDuration();
+		Arm mainArm = entity.getMainArm();
+		input.mainArmRight = mainArm == Arm.RIGHT;
+		input.swingingArmRight = (entity.preferredHand == Hand.MAIN_HAND ? mainArm : mainArm.getOpposite()) == Arm.RIGHT;
+
+		captureVehicle(entity, input);
+	}
+
+	/**
+	 * Capture only the physics settings and worn armor, leaving all entity state as-is; this is sufficient for
+	 * {@link BreastPhysics#freeze(PhysicsInput) frozen} physics.
+	 */
+	public static void captureSettings(EntityConfig config, IGenderArmor armor, PhysicsInput input) {
+		input.bustSize = config.getBustSize();
+		input.bounceMultiplier = config.getBounceMultiplier();
+		input.floppiness = config.getFloppiness();
+		input.canHaveBreasts = config.getGender().canHaveBreasts();
+		input.uniboob = config.getBreasts().isUniboob();
+		input.armorPhysicsOverride = config.getArmorPhysicsOverride();
+		input.armorTightness = MathHelper.clamp(armor.tightness(), 0, 1);
+		input.armorResistance = MathHelper.clamp(armor.physicsResistance(), 0, 1);
+	}
+
+	private static void captureVehicle(LivingEntity entity, PhysicsInput input) {
+		Entity vehicle = entity.getVehicle();
+		input.yawRotation = -((entity.bodyYaw - entity.prevBodyYaw) / 15f);
+		input.boatRowBounce = false;
+		input.vehicleMovement = 0;
+		input.vehicleAge = 0;
+		input.striderHeightOffset = 0;
+		if(vehicle == null) {
+			input.vehicle = PhysicsInput.VEHICLE_NONE;
+			return;
+		}
+
+		if(vehicleSuppressesRotation(vehicle)) {
+			input.yawRotation = 0f;
+		} else if(shouldUseVehicleYaw(entity, vehicle)) {
+			if(vehicle instanceof LivingEntity livingVehicle) {
+				input.yawRotation = -((livingVehicle.bodyYaw - livingVehicle.prevBodyYaw) / 15f);
+			} else {
+				input.yawRotation = -((vehicle.getYaw() - vehicle.prevYaw) / 15f);
+			}
+		}
+
+		if(vehicle instanceof BoatEntity boat) {
+			input.vehicle = PhysicsInput.VEHICLE_BOAT;
+			int rowTime = (int) boat.lerpPaddlePhase(0, input.limbPos);
+			int rowTime2 = (int) boat.lerpPaddlePhase(1, input.limbPos);
+
+			float rotationL = (float) MathHelper.clampedLerp(-(float)Math.PI / 3F, -0.2617994F, (double) ((MathHelper.sin(-rowTime2) + 1.0F) / 2.0F));
+			float rotationR = (float) MathHelper.clampedLerp(-(float)Math.PI / 4F, (float)Math.PI / 4F, (double) ((MathHelper.sin(-rowTime + 1.0F) + 1.0F) / 2.0F));
+			input.boatRowBounce = rotationL < -1 || rotationR < -0.6f;
+		} else if(vehicle instanceof MinecartEntity cart) {
+			input.vehicle = PhysicsInput.VEHICLE_MINECART;
+			input.vehicleMovement = (float) cart.getVelocity().lengthSquared();
+		} else if(vehicle instanceof AbstractHorseEntity horse) {
+			input.vehicle = PhysicsInput.VEHICLE_HORSE;
+			input.vehicleMovement = (float) horse.getVelocity().lengthSquared();
+			input.vehicleAge = horse.age;
+		} else if(vehicle instanceof PigEntity pig) {
+			input.vehicle = PhysicsInput.VEHICLE_PIG;
+			input.vehicleMovement = (float) pig.getVelocity().lengthSquared();
+			input.vehicleAge = pig.age;
+		} else if(vehicle instanceof StriderEntity strider) {
+			input.vehicle = PhysicsInput.VEHICLE_STRIDER;
+			input.striderHeightOffset = (double)strider.getHeight() - 0.19
+					+ (double)(0.12F * MathHelper.cos(strider.limbAnimator.getPos() * 1.5f)
+					* 2F * Math.min(0.25F, strider.limbAnimator.getSpeed()));
+		} else {
+			input.vehicle = PhysicsInput.VEHICLE_OTHER;
+		}
+	}
+
+	private static boolean vehicleSuppressesRotation(Entity vehicle) {
+		return
+				// while you aren't able to normally ride chickens in vanilla, it is still possible through
+				// means like /ride, and as chickens attempt to force the rider's body yaw to the same yaw
+				// as the chicken (which is likely intended only for baby zombies), this results in unintended
+				// behavior with what we're doing
+				vehicle instanceof ChickenEntity
+				// unsaddled horses (and llamas, which also extend AbstractDonkeyEntity?) also break rotation
+				// physics, despite acting similarly to other entities where the rider's body yaw is allowed to
+				// (somewhat) freely move around
+				|| vehicle instanceof AbstractHorseEntity horseLike && !horseLike.isSaddled()
+				// camels also suffer from largely the same issue as unsaddled horses when sitting or standing up
+				|| vehicle instanceof CamelEntity camel && camel.isStationary();
+	}
+
+	private static boolean shouldUseVehicleYaw(LivingEntity rider, Entity vehicle) {
+		return vehicle.hasControllingPassenger()
+				// boats will typically be caught by the above #hasControllingPassenger() check, but still
+				// special case these to catch any weird modded cases that might arise
+				|| vehicle instanceof BoatEntity
+				// general catch-all for other entities that force the rider's body yaw to match theirs,
+				// such as horses
+				|| vehicle.getBodyYaw() == rider.getBodyYaw();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+/**
+ * <p>Primitive snapshot of everything {@link BreastPhysics} reads in a single tick, including both the state of the
+ * owning entity and its physics settings.</p>
+ *
+ * <p>This is captured once per entity per tick by {@link EntityPhysicsAdapter}, and is then shared between both
+ * breasts; instances are intended to be reused across ticks, such that capturing and consuming a snapshot doesn't
+ * allocate anything.</p>
+ */
+public final class PhysicsInput {
+	public static final int VEHICLE_NONE = 0, VEHICLE_OTHER = 1, VEHICLE_BOAT = 2, VEHICLE_MINECART = 3,
+			VEHICLE_HORSE = 4, VEHICLE_PIG = 5, VEHICLE_STRIDER = 6;
+	// only crouching and sleeping have any effect on physics, so all other poses are treated as the same
+	public static final int POSE_OTHER = 0, POSE_CROUCHING = 1, POSE_SLEEPING = 2;
+
+	// Settings
+	public float bustSize, bounceMultiplier, floppiness;
+	public boolean canHaveBreasts, uniboob, armorPhysicsOverride;
+	public float armorTightness, armorResistance;
+
+	// Entity state
+	public boolean armorStand;
+
+	public double x, y, z;
+	public double velocityY, velocityLengthSq;
+	/**
+	 * How far the entity's body rotated this tick, already scaled down and negated for use as a bounce rotation;
+	 * this accounts for the rotation of any vehicle the entity is riding in.
+	 */
+	public float yawRotation;
+	public float limbPos, limbSpeed;
+	public int pose = POSE_OTHER;
+	public int age;
+
+	public boolean handSwinging, mainArmRight, swingingArmRight;
+	public int handSwingTicks, handSwingDuration;
+
+	public int vehicle = VEHICLE_NONE;
+	/**
+	 * Squared velocity of the entity's vehicle
+	 */
+	public float vehicleMovement;
+	public int vehicleAge;
+	/**
+	 * {@code true} if the boat the entity is in is at a point in its paddle animation where the entity should bounce
+	 */
+	public boolean boatRowBounce;
+	public double striderHeightOffset;
+
+	/**
+	 * Copy every value from the provided input into this input
+	 */
+	public void copyFrom(PhysicsInput other) {
+		this.bustSize = other.bustSize;
+		this.bounceMultiplier = other.bounceMultiplier;
+		this.floppiness = other.floppiness;
+		this.canHaveBreasts = other.canHaveBreasts;
+		this.uniboob = other.uniboob;
+		this.armorPhysicsOverride = other.armorPhysicsOverride;
+		this.armorTightness = other.armorTightness;
+		this.armorResistance = other.armorResistance;
+		this.armorStand = other.armorStand;
+		this.x = other.x;
+		this.y = other.y;
+		this.z = other.z;
+		this.velocityY = other.velocityY;
+		this.velocityLengthSq = other.velocityLengthSq;
+		this.yawRotation = other.yawRotation;
+		this.limbPos = other.limbPos;
+		this.limbSpeed = other.limbSpeed;
+		this.pose = other.pose;
+		this.age = other.age;
+		this.handSwinging = other.handSwinging;
+		this.mainArmRight = other.mainArmRight;
+		this.swingingArmRight = other.swingingArmRight;
+		this.handSwingTicks = other.handSwingTicks;
+		this.handSwingDuration = other.handSwingDuration;
+		this.vehicle = other.vehicle;
+		this.vehicleMovement = other.vehicleMovement;
+		this.vehicleAge = other.vehicleAge;
+		this.boatRowBounce = other.boatRowBounce;
+		this.striderHeightOffset = other.striderHeightOffset;
+	}
+}
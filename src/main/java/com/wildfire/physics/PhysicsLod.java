@@ -0,0 +1,131 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.render.RenderLod;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.util.Window;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * <p>Level of detail tiers for breast physics, selected per entity each tick based on its distance from the camera,
+ * and whether it's roughly within the camera's view.</p>
+ *
+ * <p>The camera state and configured thresholds are captured once per tick through {@link #refresh(MinecraftClient)},
+ * such that {@link #select(LivingEntity)} doesn't have to read the config or the camera for every ticked entity.</p>
+ */
+@Environment(EnvType.CLIENT)
+public enum PhysicsLod {
+	/**
+	 * Physics is updated every tick
+	 */
+	FULL,
+	/**
+	 * Physics is only updated every {@link #getReducedInterval() N ticks}, catching up on any skipped ticks
+	 */
+	REDUCED,
+	/**
+	 * Physics is not updated at all, and is instead held at its rest pose
+	 */
+	FROZEN;
+
+	// entities this close to the camera always use full physics, regardless of if they're in view,
+	// as they can easily become visible within a single frame
+	private static final double ALWAYS_FULL_DISTANCE_SQ = 6 * 6;
+	// extra leeway added to the view cone to account for entity size, and the fov changing between ticks
+	private static final double VIEW_MARGIN = Math.toRadians(15);
+
+	private static boolean enabled = false;
+	private static double fullDistanceSq, freezeDistanceSq;
+	private static int reducedInterval = 1;
+	private static double camX, camY, camZ, lookX, lookY, lookZ, viewCos;
+	private static LivingEntity cameraEntity;
+
+	/**
+	 * Capture the current camera state and LOD thresholds for use with the next tick
+	 */
+	public static void refresh(MinecraftClient client) {
+		Camera camera = client.gameRenderer.getCamera();
+		enabled = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD) && camera.isReady();
+		if(!enabled) return;
+
+		double fullDistance = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_FULL_DISTANCE);
+		double freezeDistance = Math.max(fullDistance, GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_FREEZE_DISTANCE));
+		fullDistanceSq = fullDistance * fullDistance;
+		freezeDistanceSq = freezeDistance * freezeDistance;
+		reducedInterval = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_REDUCED_INTERVAL);
+
+		Vec3d pos = camera.getPos();
+		camX = pos.x;
+		camY = pos.y;
+		camZ = pos.z;
+		Vec3d look = Vec3d.fromPolar(camera.getPitch(), camera.getYaw());
+		lookX = look.x;
+		lookY = look.y;
+		lookZ = look.z;
+
+		// use a cone which encloses the entire view frustum, including its corners
+		Window window = client.getWindow();
+		double aspect = window.getFramebufferHeight() == 0 ? 1 : (double) window.getFramebufferWidth() / window.getFramebufferHeight();
+		double tanHalfFov = Math.tan(Math.toRadians(RenderLod.getFov()) / 2);
+		double halfAngle = Math.atan(tanHalfFov * Math.sqrt(1 + aspect * aspect)) + VIEW_MARGIN;
+		viewCos = Math.cos(Math.min(halfAngle, Math.PI));
+
+		cameraEntity = client.getCameraEntity() instanceof LivingEntity living ? living : null;
+	}
+
+	/**
+	 * Select the physics level of detail to use for the given entity this tick
+	 */
+	public static PhysicsLod select(LivingEntity entity) {
+		if(!enabled || entity == cameraEntity) {
+			return FULL;
+		}
+
+		double dx = entity.getX() - camX;
+		double dy = entity.getBodyY(0.5) - camY;
+		double dz = entity.getZ() - camZ;
+		double distanceSq = dx * dx + dy * dy + dz * dz;
+		if(distanceSq <= ALWAYS_FULL_DISTANCE_SQ) {
+			return FULL;
+		} else if(distanceSq > freezeDistanceSq) {
+			return FROZEN;
+		}
+
+		boolean inView = dx * lookX + dy * lookY + dz * lookZ >= viewCos * Math.sqrt(distanceSq);
+		if(!inView) {
+			// entities behind the camera are never visible, but keep nearby ones moving at a reduced rate
+			// to avoid them visibly snapping back into motion if the camera turns around quickly
+			return distanceSq <= fullDistanceSq ? REDUCED : FROZEN;
+		}
+		return distanceSq <= fullDistanceSq ? FULL : REDUCED;
+	}
+
+	/**
+	 * @return How many ticks should pass between each physics update on {@link #REDUCED} tier entities
+	 */
+	public static int getReducedInterval() {
+		return reducedInterval;
+	}
+}
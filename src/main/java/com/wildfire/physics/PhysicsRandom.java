@@ -0,0 +1,67 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+/**
+ * <p>Small, fast, seeded pseudo-random number generator used by {@link BreastPhysics}.</p>
+ *
+ * <p>This is an implementation of SplitMix64; while not suitable for anything requiring high quality randomness,
+ * it's more than sufficient for adding some variation to physics, and unlike {@link Math#random()} or
+ * {@link java.util.concurrent.ThreadLocalRandom}, produces the same sequence for the same seed, regardless of
+ * what thread it's used on.</p>
+ */
+final class PhysicsRandom {
+	private long state;
+
+	PhysicsRandom(long seed) {
+		this.state = seed;
+	}
+
+	long nextLong() {
+		long z = (state += 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	/**
+	 * @return A random double in the range of {@code [0, 1)}
+	 */
+	double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * @return A random float in the range of {@code [0, 1)}
+	 */
+	float nextFloat() {
+		return (nextLong() >>> 40) * 0x1.0p-24f;
+	}
+
+	/**
+	 * @return A random float in the range of {@code [min, max)}
+	 */
+	float nextFloat(float min, float max) {
+		return min + nextFloat() * (max - min);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import java.util.Arrays;
+
+/**
+ * <p>Read-only copy of the render-relevant physics output for every slot, as of the end of a single
+ * {@link PhysicsWorld#step() step}.</p>
+ *
+ * <p>Snapshots are double-buffered by {@link PhysicsWorld}; the latest published snapshot is never written to, such
+ * that the renderer can read any number of values from it and always observe a consistent view of a single tick,
+ * regardless of where physics is currently being stepped. Readers should fetch the snapshot once through
+ * {@link PhysicsWorld#getSnapshot()}, and not hold onto it for longer than a single frame, as it is reused for
+ * publishing again two steps later.</p>
+ */
+public final class PhysicsSnapshot {
+	// per slot: previous & current breast size, Y position, X position and bounce rotation
+	private static final int STRIDE = 8;
+	private static final int SIZE = 0, POS_Y = 2, POS_X = 4, ROTATION = 6;
+
+	private float[] data = new float[0];
+	private BreastPhysics[] owners = new BreastPhysics[0];
+	private int count;
+
+	PhysicsSnapshot() {
+	}
+
+	/**
+	 * Copy the output of every slot from the given world into this snapshot
+	 */
+	void copyFrom(PhysicsWorld world, BreastPhysics[] slotOwners, int slots) {
+		if(owners.length < slots) {
+			int newLength = Math.max(slots, owners.length * 2);
+			data = Arrays.copyOf(data, newLength * STRIDE);
+			owners = Arrays.copyOf(owners, newLength);
+		}
+		for(int i = 0; i < slots; i++) {
+			int base = i * STRIDE;
+			data[base + SIZE] = world.preBreastSize[i];
+			data[base + SIZE + 1] = world.breastSize[i];
+			data[base + POS_Y] = world.prePositionY[i];
+			data[base + POS_Y + 1] = world.positionY[i];
+			data[base + POS_X] = world.prePositionX[i];
+			data[base + POS_X + 1] = world.positionX[i];
+			data[base + ROTATION] = world.preBounceRotation[i];
+			data[base + ROTATION + 1] = world.bounceRotation[i];
+		}
+		System.arraycopy(slotOwners, 0, owners, 0, slots);
+		if(count > slots) {
+			Arrays.fill(owners, slots, count, null);
+		}
+		count = slots;
+	}
+
+	private float lerp(BreastPhysics physics, int offset, float partialTicks) {
+		int slot = physics.slot;
+		// also guards against reading a slot which has since been reassigned to a different instance
+		if(slot < 0 || slot >= count || owners[slot] != physics) return 0f;
+		int index = slot * STRIDE + offset;
+		float pre = data[index];
+		return pre + partialTicks * (data[index + 1] - pre);
+	}
+
+	public float getBreastSize(BreastPhysics physics, float partialTicks) {
+		return lerp(physics, SIZE, partialTicks);
+	}
+
+	public float getPositionY(BreastPhysics physics, float partialTicks) {
+		return lerp(physics, POS_Y, partialTicks);
+	}
+
+	public float getPositionX(BreastPhysics physics, float partialTicks) {
+		return lerp(physics, POS_X, partialTicks);
+	}
+
+	public float getBounceRotation(BreastPhysics physics, float partialTicks) {
+		return lerp(physics, ROTATION, partialTicks);
+	}
+}
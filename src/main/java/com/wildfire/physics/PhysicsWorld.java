@@ -0,0 +1,444 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Struct-of-arrays storage for the spring state of every {@link BreastPhysics} instance.</p>
+ *
+ * <p>Each {@link BreastPhysics} owns a single slot in this world, and only computes its spring targets while its
+ * owning entity ticks; the actual spring integration is then done for every slot at once in {@link #step()},
+ * which is called once per client tick after all entities have ticked.</p>
+ *
+ * <p>Slots are allocated lazily on the first physics update, meaning that configs which are never ticked (such as
+ * any config on a dedicated server) never take up a slot. Slots may be released from any thread, but are only
+ * actually returned to the free list at the start of the next {@link #step()}, and so are never reused before then.</p>
+ *
+ * <p>When {@link #setParallel(boolean) parallel stepping} is enabled, physics updates {@link #submit submitted}
+ * during entity ticks are deferred until the next step, at which point both the per-entity updates and the spring
+ * integration are run as fork/join batches on a bounded worker pool. {@link #step()} still only returns once
+ * all work has finished, such that rendering never observes a partially updated state.</p>
+ *
+ * <p>The render-relevant output of every step is published into a double-buffered {@link PhysicsSnapshot}, which the
+ * renderer should read from rather than from the arrays of this class, as these may be mutated at any point while
+ * entities are ticked.</p>
+ */
+public final class PhysicsWorld {
+	public static final PhysicsWorld INSTANCE = new PhysicsWorld();
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	// X-Axis
+	float[] bounceVelX, targetBounceX, velocityX, positionX, prePositionX;
+	// Y-Axis
+	float[] bounceVelY, targetBounceY, velocityY, positionY, prePositionY;
+	// Rotation
+	float[] bounceRotVel, targetRotVel, rotVelocity, bounceRotation, preBounceRotation;
+	// Size
+	float[] breastSize, preBreastSize;
+	// Per-slot spring parameters for the current step
+	float[] bounceAmount, floppiness;
+	// How many ticks each pending slot should be advanced by
+	int[] steps;
+	// Slots which had their targets updated this tick and are awaiting integration
+	boolean[] pending;
+	// Slots which had no input changes in their last update, and slots which have settled at rest as a result
+	boolean[] idle, sleeping;
+
+	private boolean[] allocated;
+	private BreastPhysics[] owners;
+	private int[] freeSlots;
+	private int freeCount;
+	private int highWater;
+	private int capacity;
+	private final ConcurrentLinkedQueue<Integer> toRelease = new ConcurrentLinkedQueue<>();
+	private SpringIntegrator integrator = SpringIntegrator.ANALYTIC;
+	// sleeping slots may be woken from worker threads while stepping in parallel
+	private final AtomicInteger sleepingCount = new AtomicInteger();
+	private int awakeCount;
+
+	// physics updates deferred until the next step while stepping in parallel
+	private boolean parallel;
+	private BreastPhysics[] queuedPhysics = new BreastPhysics[INITIAL_CAPACITY];
+	private PhysicsInput[] queuedInputs = new PhysicsInput[INITIAL_CAPACITY];
+	private int[] queuedTicks = new int[INITIAL_CAPACITY];
+	private int queuedCount;
+
+	// how many entries each leaf task processes; anything smaller than this isn't worth splitting up
+	private static final int UPDATE_BATCH_SIZE = 64, INTEGRATE_BATCH_SIZE = 512;
+	private static ForkJoinPool pool;
+
+	private final PhysicsSnapshot[] snapshots = { new PhysicsSnapshot(), new PhysicsSnapshot() };
+	private volatile PhysicsSnapshot published = snapshots[0];
+
+	// springs moving slower than this, and this close to their target, are considered to be at rest
+	private static final float REST_EPSILON = 1.0E-4F;
+	// bounds for the rendered vertical position; going above the upper bound also stops the spring in its tracks
+	private static final float MIN_POSITION_Y = -0.5f, MAX_POSITION_Y = 1.5f;
+
+	private PhysicsWorld() {
+		resize(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Allocate a new slot, growing the backing arrays if required
+	 *
+	 * @return The index of the newly allocated slot
+	 */
+	int allocate(BreastPhysics owner) {
+		// released slots are deliberately left queued until the next step, as a deferred update may still be
+		// running against a slot that was released from a worker thread during the previous step
+		int slot;
+		if(freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		} else {
+			if(highWater == capacity) {
+				resize(capacity * 2);
+			}
+			slot = highWater++;
+		}
+		allocated[slot] = true;
+		owners[slot] = owner;
+		clear(slot);
+		return slot;
+	}
+
+	/**
+	 * Queue the provided slot to be released on the next {@link #step() physics step}
+	 */
+	void release(int slot) {
+		if(slot >= 0) {
+			toRelease.add(slot);
+		}
+	}
+
+	/**
+	 * Update the provided physics with the given input; this is done immediately, unless stepping in parallel,
+	 * in which case this is instead deferred until the next {@link #step()}.
+	 *
+	 * @apiNote The provided input must not be modified until the next step
+	 */
+	public void submit(BreastPhysics physics, PhysicsInput input, int ticks) {
+		// always allocate on the calling thread, as allocation isn't thread-safe
+		physics.allocateSlot();
+		if(!parallel) {
+			physics.update(input, ticks);
+			return;
+		}
+
+		if(queuedCount == queuedPhysics.length) {
+			int newLength = queuedPhysics.length * 2;
+			queuedPhysics = Arrays.copyOf(queuedPhysics, newLength);
+			queuedInputs = Arrays.copyOf(queuedInputs, newLength);
+			queuedTicks = Arrays.copyOf(queuedTicks, newLength);
+		}
+		queuedPhysics[queuedCount] = physics;
+		queuedInputs[queuedCount] = input;
+		queuedTicks[queuedCount] = ticks;
+		queuedCount++;
+	}
+
+	/**
+	 * Run any deferred physics updates, and integrate the springs of every slot that had its targets updated since
+	 * the last step
+	 */
+	public void step() {
+		drainReleased();
+		final int count = highWater;
+		if(queuedCount == 0 && !parallel) {
+			awakeCount = integrate(0, count);
+			publish();
+			return;
+		}
+
+		ForkJoinPool pool = getPool();
+		if(queuedCount > 0) {
+			runBatch(pool, new UpdateTask(0, queuedCount), queuedCount <= UPDATE_BATCH_SIZE);
+			// don't hold onto any references past this step
+			Arrays.fill(queuedPhysics, 0, queuedCount, null);
+			Arrays.fill(queuedInputs, 0, queuedCount, null);
+			queuedCount = 0;
+		}
+
+		AtomicInteger awake = new AtomicInteger();
+		runBatch(pool, new IntegrateTask(0, count, awake), count <= INTEGRATE_BATCH_SIZE);
+		awakeCount = awake.get();
+		publish();
+	}
+
+	/**
+	 * Copy the current output into the back snapshot buffer, and then swap it to the front
+	 */
+	private void publish() {
+		PhysicsSnapshot back = published == snapshots[0] ? snapshots[1] : snapshots[0];
+		back.copyFrom(this, owners, highWater);
+		published = back;
+	}
+
+	/**
+	 * @return The snapshot published by the last {@link #step()}
+	 */
+	public PhysicsSnapshot getSnapshot() {
+		return published;
+	}
+
+	private static void runBatch(ForkJoinPool pool, RecursiveAction task, boolean inline) {
+		if(inline) {
+			// not worth the overhead of handing this off to the pool
+			task.invoke();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	/**
+	 * Integrate every pending slot in the given range
+	 *
+	 * @return The number of slots that were integrated
+	 */
+	private int integrate(int from, int to) {
+		int awake = 0;
+		for(int i = from; i < to; i++) {
+			if(!pending[i]) continue;
+			pending[i] = false;
+			awake++;
+
+			final float amount = bounceAmount[i];
+			final float percent = floppiness[i];
+			final float delta = 2.25f - amount;
+
+			// slots with a reduced update rate catch up on any skipped ticks here as well
+			final int ticks = steps[i];
+			advanceY(i, targetBounceY[i], amount, delta, percent * 1.1625f, ticks);
+			integrator.advance(bounceVelX, velocityX, i, targetBounceX[i], amount, delta, percent, ticks);
+			integrator.advance(bounceRotVel, rotVelocity, i, targetRotVel[i], amount, delta, percent, ticks);
+
+			bounceRotation[i] = bounceRotVel[i];
+			positionX[i] = bounceVelX[i];
+			positionY[i] = Math.clamp(bounceVelY[i], MIN_POSITION_Y, MAX_POSITION_Y);
+
+			if(idle[i] && isAtRest(i)) {
+				sleeping[i] = true;
+				sleepingCount.incrementAndGet();
+			}
+		}
+		return awake;
+	}
+
+	/**
+	 * Advance the vertical spring of the given slot, stopping it every tick that it ends up above
+	 * {@link #MAX_POSITION_Y}
+	 */
+	private void advanceY(int i, float target, float amount, float delta, float gain, int ticks) {
+		// the closed form can't account for the velocity being reset at the upper bound, so it can only be used if
+		// the spring can't reach it; otherwise, step one tick at a time like at the full tick rate
+		if(integrator == SpringIntegrator.ANALYTIC && ticks > 1
+				&& target + SpringIntegrator.maxOffset(bounceVelY[i] - target, velocityY[i], amount, delta, gain) <= MAX_POSITION_Y) {
+			integrator.advance(bounceVelY, velocityY, i, target, amount, delta, gain, ticks);
+			return;
+		}
+		for(int tick = 0; tick < ticks; tick++) {
+			SpringIntegrator.SUBSTEP.advance(bounceVelY, velocityY, i, target, amount, delta, gain, 1);
+			if(bounceVelY[i] > MAX_POSITION_Y) {
+				velocityY[i] = 0;
+			}
+		}
+	}
+
+	private final class UpdateTask extends RecursiveAction {
+		private final int from, to;
+
+		private UpdateTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= UPDATE_BATCH_SIZE) {
+				for(int i = from; i < to; i++) {
+					queuedPhysics[i].updateQueued(queuedInputs[i], queuedTicks[i]);
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new UpdateTask(from, mid), new UpdateTask(mid, to));
+		}
+	}
+
+	private final class IntegrateTask extends RecursiveAction {
+		private final int from, to;
+		private final AtomicInteger awake;
+
+		private IntegrateTask(int from, int to, AtomicInteger awake) {
+			this.from = from;
+			this.to = to;
+			this.awake = awake;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= INTEGRATE_BATCH_SIZE) {
+				awake.addAndGet(integrate(from, to));
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new IntegrateTask(from, mid, awake), new IntegrateTask(mid, to, awake));
+		}
+	}
+
+	private static synchronized ForkJoinPool getPool() {
+		if(pool == null) {
+			// leave a core free for the client & render threads
+			int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			AtomicInteger threadId = new AtomicInteger();
+			pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+				thread.setName("Wildfire Physics Worker-" + threadId.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+
+	private boolean isAtRest(int i) {
+		return Math.abs(velocityX[i]) < REST_EPSILON && Math.abs(velocityY[i]) < REST_EPSILON && Math.abs(rotVelocity[i]) < REST_EPSILON
+				&& Math.abs(targetBounceX[i] - bounceVelX[i]) < REST_EPSILON
+				&& Math.abs(targetBounceY[i] - bounceVelY[i]) < REST_EPSILON
+				&& Math.abs(targetRotVel[i] - bounceRotVel[i]) < REST_EPSILON
+				&& Math.abs(breastSize[i] - preBreastSize[i]) < REST_EPSILON;
+	}
+
+	/**
+	 * Wake up the given slot if it's currently sleeping
+	 */
+	void wake(int slot) {
+		if(sleeping[slot]) {
+			sleeping[slot] = false;
+			sleepingCount.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @return The number of slots that are currently asleep, and as such are skipped entirely until any of their
+	 *         inputs change
+	 */
+	public int getSleepingCount() {
+		return sleepingCount.get();
+	}
+
+	/**
+	 * @return The number of slots that were integrated in the last {@link #step()}
+	 */
+	public int getAwakeCount() {
+		return awakeCount;
+	}
+
+	/**
+	 * Set if physics should be stepped in parallel; see the class documentation for details
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Set the integrator used to advance springs in {@link #step()}
+	 */
+	public void setIntegrator(SpringIntegrator integrator) {
+		this.integrator = integrator;
+	}
+
+	/**
+	 * @return The number of slots currently in use
+	 */
+	public int size() {
+		return highWater - freeCount;
+	}
+
+	private void drainReleased() {
+		Integer slot;
+		while((slot = toRelease.poll()) != null) {
+			if(!allocated[slot]) continue;
+			allocated[slot] = false;
+			owners[slot] = null;
+			pending[slot] = false;
+			wake(slot);
+			freeSlots[freeCount++] = slot;
+		}
+	}
+
+	private void clear(int slot) {
+		bounceVelX[slot] = targetBounceX[slot] = velocityX[slot] = positionX[slot] = prePositionX[slot] = 0;
+		bounceVelY[slot] = targetBounceY[slot] = velocityY[slot] = positionY[slot] = prePositionY[slot] = 0;
+		bounceRotVel[slot] = targetRotVel[slot] = rotVelocity[slot] = bounceRotation[slot] = preBounceRotation[slot] = 0;
+		breastSize[slot] = preBreastSize[slot] = 0;
+		bounceAmount[slot] = floppiness[slot] = 0;
+		steps[slot] = 0;
+		pending[slot] = idle[slot] = sleeping[slot] = false;
+	}
+
+	private void resize(int newCapacity) {
+		bounceVelX = grow(bounceVelX, newCapacity);
+		targetBounceX = grow(targetBounceX, newCapacity);
+		velocityX = grow(velocityX, newCapacity);
+		positionX = grow(positionX, newCapacity);
+		prePositionX = grow(prePositionX, newCapacity);
+
+		bounceVelY = grow(bounceVelY, newCapacity);
+		targetBounceY = grow(targetBounceY, newCapacity);
+		velocityY = grow(velocityY, newCapacity);
+		positionY = grow(positionY, newCapacity);
+		prePositionY = grow(prePositionY, newCapacity);
+
+		bounceRotVel = grow(bounceRotVel, newCapacity);
+		targetRotVel = grow(targetRotVel, newCapacity);
+		rotVelocity = grow(rotVelocity, newCapacity);
+		bounceRotation = grow(bounceRotation, newCapacity);
+		preBounceRotation = grow(preBounceRotation, newCapacity);
+
+		breastSize = grow(breastSize, newCapacity);
+		preBreastSize = grow(preBreastSize, newCapacity);
+		bounceAmount = grow(bounceAmount, newCapacity);
+		floppiness = grow(floppiness, newCapacity);
+
+		steps = steps == null ? new int[newCapacity] : Arrays.copyOf(steps, newCapacity);
+		pending = pending == null ? new boolean[newCapacity] : Arrays.copyOf(pending, newCapacity);
+		idle = idle == null ? new boolean[newCapacity] : Arrays.copyOf(idle, newCapacity);
+		sleeping = sleeping == null ? new boolean[newCapacity] : Arrays.copyOf(sleeping, newCapacity);
+		allocated = allocated == null ? new boolean[newCapacity] : Arrays.copyOf(allocated, newCapacity);
+		owners = owners == null ? new BreastPhysics[newCapacity] : Arrays.copyOf(owners, newCapacity);
+		freeSlots = freeSlots == null ? new int[newCapacity] : Arrays.copyOf(freeSlots, newCapacity);
+		capacity = newCapacity;
+	}
+
+	private static float[] grow(float[] array, int newCapacity) {
+		return array == null ? new float[newCapacity] : Arrays.copyOf(array, newCapacity);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import java.util.function.IntFunction;
+
+/**
+ * <p>Integrators for the damped springs used by breast physics.</p>
+ *
+ * <p>A single tick of the spring is defined as:</p>
+ * <pre>{@code
+ * velocity = lerp(amount, velocity, (target - position) * delta);
+ * position += velocity * gain;
+ * }</pre>
+ *
+ * <p>With a constant target, this is a linear map on {@code (position - target, velocity)}, which allows for
+ * advancing the spring by an arbitrary number of ticks by raising that map to the power of the elapsed tick count,
+ * landing on the exact same state as running each tick individually would.</p>
+ *
+ * <p>Note that this only holds for the spring on its own: anything applied to the spring between ticks, such as the
+ * velocity reset at the upper bound of the vertical spring in {@link PhysicsWorld}, can't be represented in closed
+ * form; {@link #maxOffset} can be used to check whether a spring could reach such a bound before relying on this.</p>
+ */
+public enum SpringIntegrator {
+	/**
+	 * Run the per-tick spring step once for every elapsed tick
+	 */
+	SUBSTEP,
+	/**
+	 * Evaluate the spring in closed form for the elapsed tick count, which costs {@code O(log n)} regardless of
+	 * how many ticks are being caught up on
+	 */
+	ANALYTIC;
+
+	private static final SpringIntegrator[] VALUES = values();
+	// not using ValueLists here to keep the physics kernel free of any game classes
+	public static final IntFunction<SpringIntegrator> BY_ID = id -> VALUES[Math.clamp(id, 0, VALUES.length - 1)];
+
+	/**
+	 * Advance the spring stored at {@code slot} in the provided arrays by the given number of ticks
+	 *
+	 * @param position The spring position array
+	 * @param velocity The spring velocity array
+	 * @param target   The target position for the spring
+	 * @param amount   How quickly the velocity moves toward the target velocity, between {@code 0} and {@code 1}
+	 * @param delta    The stiffness of the spring
+	 * @param gain     How much of the velocity is applied to the position every tick
+	 * @param ticks    How many ticks to advance the spring by
+	 */
+	public void advance(float[] position, float[] velocity, int slot, float target, float amount, float delta, float gain, int ticks) {
+		if(this == SUBSTEP || ticks == 1) {
+			float pos = position[slot], vel = velocity[slot];
+			for(int tick = 0; tick < ticks; tick++) {
+				vel += amount * ((target - pos) * delta - vel);
+				pos += vel * gain;
+			}
+			position[slot] = pos;
+			velocity[slot] = vel;
+			return;
+		}
+		if(ticks <= 0) return;
+
+		// single tick transition matrix for (position - target, velocity)
+		double m00 = 1 - gain * amount * delta, m01 = gain * (1 - amount);
+		double m10 = -amount * delta, m11 = 1 - amount;
+		// result matrix, starting from identity
+		double r00 = 1, r01 = 0, r10 = 0, r11 = 1;
+
+		// exponentiation by squaring
+		int n = ticks;
+		while(n > 0) {
+			if((n & 1) != 0) {
+				double t00 = r00 * m00 + r01 * m10, t01 = r00 * m01 + r01 * m11;
+				double t10 = r10 * m00 + r11 * m10, t11 = r10 * m01 + r11 * m11;
+				r00 = t00; r01 = t01; r10 = t10; r11 = t11;
+			}
+			n >>= 1;
+			if(n > 0) {
+				double s00 = m00 * m00 + m01 * m10, s01 = m00 * m01 + m01 * m11;
+				double s10 = m10 * m00 + m11 * m10, s11 = m10 * m01 + m11 * m11;
+				m00 = s00; m01 = s01; m10 = s10; m11 = s11;
+			}
+		}
+
+		double offset = position[slot] - target;
+		double vel = velocity[slot];
+		position[slot] = (float) (target + r00 * offset + r01 * vel);
+		velocity[slot] = (float) (r10 * offset + r11 * vel);
+	}
+
+	/**
+	 * Get an upper bound for how far from its target a spring will be on any tick from now on, assuming its target
+	 * doesn't change
+	 *
+	 * @param offset   The current distance of the spring position from its target
+	 * @param velocity The current spring velocity
+	 *
+	 * @return The upper bound, or {@link Float#POSITIVE_INFINITY} if no useful bound could be determined
+	 *
+	 * @see #advance
+	 */
+	public static float maxOffset(float offset, float velocity, float amount, float delta, float gain) {
+		// the offset after k ticks is a combination of the k-th powers of the eigenvalues of the transition matrix
+		// used in advance(), which both have a magnitude below 1 as long as the spring is actually damped
+		if(amount <= 0 || amount >= 1) return Float.POSITIVE_INFINITY;
+		double m00 = 1 - gain * amount * delta, m01 = gain * (1 - amount);
+		double trace = m00 + 1 - amount, det = 1 - amount;
+		double next = m00 * offset + m01 * velocity;
+		double discriminant = trace * trace - 4 * det;
+		if(discriminant < -1.0E-9) {
+			// complex eigenvalues r * e^(+-i theta), giving offset(k) = r^k * (c * cos(k theta) + d * sin(k theta))
+			double r = Math.sqrt(det);
+			double cos = trace / (2 * r), sin = Math.sqrt(1 - cos * cos);
+			double d = (next / r - offset * cos) / sin;
+			return (float) Math.sqrt(offset * offset + d * d);
+		}
+		if(discriminant > 1.0E-9) {
+			// real eigenvalues, giving offset(k) = a * l1^k + b * l2^k
+			double root = Math.sqrt(discriminant);
+			double l1 = (trace + root) / 2, l2 = (trace - root) / 2;
+			if(Math.abs(l1) > 1 || Math.abs(l2) > 1) return Float.POSITIVE_INFINITY;
+			double a = (next - l2 * offset) / root;
+			return (float) (Math.abs(a) + Math.abs(offset - a));
+		}
+		// too close to critical damping to split into two terms reliably
+		return Float.POSITIVE_INFINITY;
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics.trace;
+
+/**
+ * <p>Constants shared by {@link PhysicsTraceWriter} and {@link PhysicsTraceReader}.</p>
+ *
+ * <p>A trace is a GZIP compressed stream, starting with {@link #MAGIC} and {@link #VERSION}, followed by any number of
+ * frames, each starting with a single byte frame type:</p>
+ *
+ * <ul>
+ *     <li>{@link #FRAME_INPUT}: a single physics update for an entity, with the number of ticks it covers</li>
+ *     <li>{@link #FRAME_TICK}: marks the end of a client tick, at which point the physics world is stepped</li>
+ *     <li>{@link #FRAME_END}: marks the end of the trace</li>
+ * </ul>
+ */
+public final class PhysicsTrace {
+	private PhysicsTrace() {
+		throw new UnsupportedOperationException();
+	}
+
+	public static final int MAGIC = 0x57465054; // "WFPT"
+	public static final short VERSION = 2;
+
+	public static final byte FRAME_END = 0;
+	public static final byte FRAME_INPUT = 2;
+	public static final byte FRAME_TICK = 3;
+
+	static final int FLAG_ARMOR_STAND = 1, FLAG_HAND_SWINGING = 1 << 1, FLAG_MAIN_ARM_RIGHT = 1 << 2,
+			FLAG_SWINGING_ARM_RIGHT = 1 << 3, FLAG_BOAT_ROW_BOUNCE = 1 << 4, FLAG_CAN_HAVE_BREASTS = 1 << 5,
+			FLAG_UNIBOOB = 1 << 6, FLAG_ARMOR_PHYSICS_OVERRIDE = 1 << 7;
+
+	public static final String FILE_EXTENSION = ".wfpt";
+}
@@ -0,0 +1,131 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics.trace;
+
+import com.wildfire.physics.PhysicsInput;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads frames from a binary {@link PhysicsTrace trace file} written by {@link PhysicsTraceWriter}
+ */
+public final class PhysicsTraceReader implements Closeable {
+	private final DataInputStream in;
+	private int entityId, ticks;
+
+	public PhysicsTraceReader(Path path) throws IOException {
+		this(Files.newInputStream(path));
+	}
+
+	public PhysicsTraceReader(InputStream stream) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+		if(in.readInt() != PhysicsTrace.MAGIC) {
+			throw new IOException("Not a physics trace file");
+		}
+		short version = in.readShort();
+		if(version != PhysicsTrace.VERSION) {
+			throw new IOException("Unsupported physics trace version " + version);
+		}
+	}
+
+	/**
+	 * Read the next frame from the trace
+	 *
+	 * @param input The input to read the frame into, if it is an {@link PhysicsTrace#FRAME_INPUT input frame}
+	 *
+	 * @return The type of the frame that was read; {@link PhysicsTrace#FRAME_END} is returned once the end of the
+	 *         trace is reached
+	 */
+	public byte next(PhysicsInput input) throws IOException {
+		byte type;
+		try {
+			type = in.readByte();
+		} catch(EOFException e) {
+			// treat truncated traces (such as from the game crashing while recording) as having ended
+			return PhysicsTrace.FRAME_END;
+		}
+
+		switch(type) {
+			case PhysicsTrace.FRAME_END, PhysicsTrace.FRAME_TICK -> {}
+			case PhysicsTrace.FRAME_INPUT -> readInput(input);
+			default -> throw new IOException("Unknown physics trace frame type " + type);
+		}
+		return type;
+	}
+
+	private void readInput(PhysicsInput input) throws IOException {
+		entityId = in.readUnsignedShort();
+		ticks = in.readUnsignedByte();
+
+		int flags = in.readUnsignedByte();
+		input.armorStand = (flags & PhysicsTrace.FLAG_ARMOR_STAND) != 0;
+		input.handSwinging = (flags & PhysicsTrace.FLAG_HAND_SWINGING) != 0;
+		input.mainArmRight = (flags & PhysicsTrace.FLAG_MAIN_ARM_RIGHT) != 0;
+		input.swingingArmRight = (flags & PhysicsTrace.FLAG_SWINGING_ARM_RIGHT) != 0;
+		input.boatRowBounce = (flags & PhysicsTrace.FLAG_BOAT_ROW_BOUNCE) != 0;
+		input.canHaveBreasts = (flags & PhysicsTrace.FLAG_CAN_HAVE_BREASTS) != 0;
+		input.uniboob = (flags & PhysicsTrace.FLAG_UNIBOOB) != 0;
+		input.armorPhysicsOverride = (flags & PhysicsTrace.FLAG_ARMOR_PHYSICS_OVERRIDE) != 0;
+
+		input.bustSize = in.readFloat();
+		input.bounceMultiplier = in.readFloat();
+		input.floppiness = in.readFloat();
+
+		input.x = in.readDouble();
+		input.y = in.readDouble();
+		input.z = in.readDouble();
+		input.velocityY = in.readDouble();
+		input.velocityLengthSq = in.readDouble();
+		input.yawRotation = in.readFloat();
+		input.limbPos = in.readFloat();
+		input.limbSpeed = in.readFloat();
+		input.pose = in.readUnsignedByte();
+		input.age = in.readInt();
+		input.handSwingTicks = in.readShort();
+		input.handSwingDuration = in.readShort();
+		input.vehicle = in.readUnsignedByte();
+		input.vehicleMovement = in.readFloat();
+		input.vehicleAge = in.readInt();
+		input.striderHeightOffset = in.readDouble();
+		input.armorTightness = in.readFloat();
+		input.armorResistance = in.readFloat();
+	}
+
+	/**
+	 * @return The entity ID that the last read input frame applies to
+	 */
+	public int getEntityId() {
+		return entityId;
+	}
+
+	/**
+	 * @return The number of ticks covered by the last read input frame
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics.trace;
+
+import com.wildfire.main.WildfireGender;
+import com.wildfire.physics.PhysicsInput;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <p>Records the physics inputs of every entity with updating physics to a {@link PhysicsTrace trace file},
+ * for later offline replay.</p>
+ *
+ * <p>Traces are saved to {@code .minecraft/wildfire_gender/traces}.</p>
+ */
+@Environment(EnvType.CLIENT)
+public final class PhysicsTraceRecorder {
+	private PhysicsTraceRecorder() {
+		throw new UnsupportedOperationException();
+	}
+
+	// cap the number of recorded entities to keep trace files at a reasonable size in crowded areas
+	private static final int MAX_ENTITIES = 256;
+
+	private static @Nullable PhysicsTraceWriter writer;
+	private static @Nullable Path path;
+	private static final Map<UUID, Integer> ENTITY_IDS = new HashMap<>();
+
+	public static boolean isRecording() {
+		return writer != null;
+	}
+
+	/**
+	 * Start recording a new trace
+	 *
+	 * @return The path the trace is being written to, or {@code null} if the trace file couldn't be created
+	 */
+	public static @Nullable Path start() {
+		if(writer != null) return path;
+		Path dir = FabricLoader.getInstance().getGameDir().resolve(WildfireGender.MODID).resolve("traces");
+		try {
+			Files.createDirectories(dir);
+			path = dir.resolve("trace-" + Util.getFormattedCurrentTime() + PhysicsTrace.FILE_EXTENSION);
+			writer = new PhysicsTraceWriter(path);
+		} catch(IOException e) {
+			WildfireGender.LOGGER.error("Failed to start recording physics trace", e);
+			writer = null;
+			path = null;
+		}
+		return path;
+	}
+
+	/**
+	 * Stop recording the current trace, if any
+	 *
+	 * @return The path the trace was written to, or {@code null} if no trace was being recorded
+	 */
+	public static @Nullable Path stop() {
+		Path recorded = path;
+		if(writer != null) {
+			try {
+				writer.close();
+			} catch(IOException e) {
+				WildfireGender.LOGGER.error("Failed to finish writing physics trace", e);
+			}
+		}
+		writer = null;
+		path = null;
+		ENTITY_IDS.clear();
+		return recorded;
+	}
+
+	/**
+	 * Record a single physics update for the given entity, if a trace is currently being recorded
+	 */
+	public static void record(UUID uuid, PhysicsInput input, int ticks) {
+		if(writer == null) return;
+
+		Integer id = ENTITY_IDS.get(uuid);
+		if(id == null) {
+			if(ENTITY_IDS.size() >= MAX_ENTITIES) return;
+			id = ENTITY_IDS.size();
+			ENTITY_IDS.put(uuid, id);
+		}
+
+		try {
+			writer.writeInput(id, ticks, input);
+		} catch(IOException e) {
+			WildfireGender.LOGGER.error("Failed to write physics trace, stopping recording", e);
+			stop();
+		}
+	}
+
+	/**
+	 * Mark the end of the current client tick in the trace, if one is currently being recorded
+	 */
+	public static void endTick() {
+		if(writer == null) return;
+		try {
+			writer.writeTickEnd();
+		} catch(IOException e) {
+			WildfireGender.LOGGER.error("Failed to write physics trace, stopping recording", e);
+			stop();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics.trace;
+
+import com.wildfire.physics.PhysicsInput;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@link PhysicsInput physics inputs} to a binary {@link PhysicsTrace trace file}
+ */
+public final class PhysicsTraceWriter implements Closeable {
+	private final DataOutputStream out;
+	private boolean closed;
+
+	public PhysicsTraceWriter(Path path) throws IOException {
+		this(Files.newOutputStream(path));
+	}
+
+	public PhysicsTraceWriter(OutputStream stream) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)));
+		out.writeInt(PhysicsTrace.MAGIC);
+		out.writeShort(PhysicsTrace.VERSION);
+	}
+
+	public void writeInput(int id, int ticks, PhysicsInput input) throws IOException {
+		out.writeByte(PhysicsTrace.FRAME_INPUT);
+		out.writeShort(id);
+		out.writeByte(ticks);
+
+		int flags = 0;
+		if(input.armorStand) flags |= PhysicsTrace.FLAG_ARMOR_STAND;
+		if(input.handSwinging) flags |= PhysicsTrace.FLAG_HAND_SWINGING;
+		if(input.mainArmRight) flags |= PhysicsTrace.FLAG_MAIN_ARM_RIGHT;
+		if(input.swingingArmRight) flags |= PhysicsTrace.FLAG_SWINGING_ARM_RIGHT;
+		if(input.boatRowBounce) flags |= PhysicsTrace.FLAG_BOAT_ROW_BOUNCE;
+		if(input.canHaveBreasts) flags |= PhysicsTrace.FLAG_CAN_HAVE_BREASTS;
+		if(input.uniboob) flags |= PhysicsTrace.FLAG_UNIBOOB;
+		if(input.armorPhysicsOverride) flags |= PhysicsTrace.FLAG_ARMOR_PHYSICS_OVERRIDE;
+		out.writeByte(flags);
+
+		out.writeFloat(input.bustSize);
+		out.writeFloat(input.bounceMultiplier);
+		out.writeFloat(input.floppiness);
+
+		out.writeDouble(input.x);
+		out.writeDouble(input.y);
+		out.writeDouble(input.z);
+		out.writeDouble(input.velocityY);
+		out.writeDouble(input.velocityLengthSq);
+		out.writeFloat(input.yawRotation);
+		out.writeFloat(input.limbPos);
+		out.writeFloat(input.limbSpeed);
+		out.writeByte(input.pose);
+		out.writeInt(input.age);
+		out.writeShort(input.handSwingTicks);
+		out.writeShort(input.handSwingDuration);
+		out.writeByte(input.vehicle);
+		out.writeFloat(input.vehicleMovement);
+		out.writeInt(input.vehicleAge);
+		out.writeDouble(input.striderHeightOffset);
+		out.writeFloat(input.armorTightness);
+		out.writeFloat(input.armorResistance);
+	}
+
+	public void writeTickEnd() throws IOException {
+		out.writeByte(PhysicsTrace.FRAME_TICK);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(closed) return;
+		closed = true;
+		try {
+			out.writeByte(PhysicsTrace.FRAME_END);
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import com.wildfire.mixins.accessors.EquipmentRendererAccessor;
+import com.wildfire.mixins.accessors.TrimSpriteKeyConstructorAccessor;
+import com.wildfire.resources.GenderArmorResourceManager;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.TexturedRenderLayers;
+import net.minecraft.client.render.entity.equipment.EquipmentModel;
+import net.minecraft.client.render.entity.equipment.EquipmentModelLoader;
+import net.minecraft.client.render.entity.equipment.EquipmentRenderer;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.item.equipment.EquipmentAsset;
+import net.minecraft.item.equipment.trim.ArmorTrim;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ColorHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Everything {@link GenderArmorLayer} needs to render a given chestplate, resolved once and then cached by its
+ * equipment asset, dye color and armor trim.</p>
+ *
+ * <p>Plans hold onto textures and sprites from the currently loaded resource packs, and as such are dropped whenever
+ * resources are reloaded through {@link #invalidate()}.</p>
+ *
+ * @apiNote {@link #get} must only be used from the render thread
+ *
+ * @param layers          Every armor layer to render, in order; layers with textures which don't exist are excluded
+ * @param trimSprite      The sprite to render the armor trim with, or {@code null} if there is no trim
+ * @param trimRenderLayer The render layer to render the armor trim with, or {@code null} if there is no trim
+ */
+@Environment(EnvType.CLIENT)
+public record ArmorRenderPlan(List<Layer> layers, @Nullable Sprite trimSprite, @Nullable RenderLayer trimRenderLayer) {
+	// each distinct chestplate, dye color and trim combination currently being rendered takes up one entry
+	private static final int MAX_SIZE = 256;
+
+	private static final Map<Key, ArmorRenderPlan> CACHE = new LinkedHashMap<>(32, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, ArmorRenderPlan> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	// reused for lookups, such that cache hits don't allocate
+	private static final Key LOOKUP = new Key();
+
+	/**
+	 * @param texture     The full texture identifier for this layer
+	 * @param renderLayer The render layer to render this layer with
+	 * @param color       The color to tint this layer with, with full alpha
+	 */
+	public record Layer(Identifier texture, RenderLayer renderLayer, int color) {
+	}
+
+	private static final class Key {
+		private @Nullable RegistryKey<EquipmentAsset> asset;
+		private int color;
+		private @Nullable ArmorTrim trim;
+
+		private void set(RegistryKey<EquipmentAsset> asset, int color, @Nullable ArmorTrim trim) {
+			this.asset = asset;
+			this.color = color;
+			this.trim = trim;
+		}
+
+		private Key copy() {
+			Key key = new Key();
+			key.set(Objects.requireNonNull(asset), color, trim);
+			return key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key other && color == other.color && Objects.equals(asset, other.asset)
+					&& Objects.equals(trim, other.trim);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hashCode(asset);
+			result = 31 * result + color;
+			result = 31 * result + Objects.hashCode(trim);
+			return result;
+		}
+	}
+
+	/**
+	 * Get the render plan for the given chestplate, resolving it if it isn't already cached
+	 *
+	 * @param asset The equipment asset of the chestplate
+	 * @param color The dye color of the chestplate, or {@code -1} if it isn't dyed
+	 * @param trim  The armor trim applied to the chestplate, if any
+	 */
+	public static ArmorRenderPlan get(EquipmentModelLoader modelLoader, EquipmentRenderer equipmentRenderer,
+	                                  RegistryKey<EquipmentAsset> asset, int color, @Nullable ArmorTrim trim) {
+		LOOKUP.set(asset, color, trim);
+		ArmorRenderPlan plan = CACHE.get(LOOKUP);
+		if(plan == null) {
+			plan = resolve(modelLoader, equipmentRenderer, asset, color, trim);
+			CACHE.put(LOOKUP.copy(), plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * Drop all cached plans; this must be called whenever client resources are reloaded, after both equipment models
+	 * and texture atlases have been reloaded
+	 */
+	public static void invalidate() {
+		// resource reloads apply on the render thread, so this doesn't race with #get
+		CACHE.clear();
+	}
+
+	private static ArmorRenderPlan resolve(EquipmentModelLoader modelLoader, EquipmentRenderer equipmentRenderer,
+	                                       RegistryKey<EquipmentAsset> asset, int color, @Nullable ArmorTrim trim) {
+		// TODO is there still a need to allow for overriding the armor texture identifier?
+		List<Layer> layers = modelLoader.get(asset).getLayers(EquipmentModel.LayerType.HUMANOID).stream()
+				.map(layer -> {
+					// mojang what the Optional hell is this
+					int layerColor = layer.dyeable().map(dye -> {
+						int defaultColor = dye.colorWhenUndyed().map(ColorHelper::fullAlpha).orElse(-1);
+						return color != -1 ? color : defaultColor;
+					}).orElse(-1);
+					var texture = layer.getFullTextureId(EquipmentModel.LayerType.HUMANOID);
+					return new Layer(texture, RenderLayer.getArmorCutoutNoCull(texture), ColorHelper.fullAlpha(layerColor));
+				})
+				.filter(layer -> GenderArmorResourceManager.textureExists(layer.texture()))
+				.toList();
+
+		if(trim == null) {
+			return new ArmorRenderPlan(layers, null, null);
+		}
+		// this sucks, but it sucks less than simply copy/pasting the entire relevant block of code, and is
+		// (at least theoretically) more compatible with other mods, assuming they simply mixin to TrimSpriteKey
+		// to modify the armor trim sprite location.
+		var key = TrimSpriteKeyConstructorAccessor.newKey(trim, EquipmentModel.LayerType.HUMANOID, asset);
+		Sprite sprite = ((EquipmentRendererAccessor) equipmentRenderer).getTrimSprites().apply(key);
+		RenderLayer renderLayer = TexturedRenderLayers.getArmorTrims(trim.pattern().value().decal());
+		return new ArmorRenderPlan(layers, sprite, renderLayer);
+	}
+}
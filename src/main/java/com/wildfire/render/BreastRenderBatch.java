@@ -0,0 +1,224 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.render;
+
+import com.wildfire.main.config.GlobalConfig;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.entity.state.BipedEntityRenderState;
+import net.minecraft.util.math.ColorHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Optional batching of breast geometry across every entity rendered in a frame.</p>
+ *
+ * <p>When enabled, breast layers render into this instead of the vertex consumers they're given, which records the
+ * already transformed vertices grouped by their {@link RenderLayer}. Every group is then submitted in a single pass once
+ * all entities have been rendered through {@link #flush(VertexConsumerProvider)}, such that switching between render
+ * layers no longer scales with the amount of players being rendered.</p>
+ *
+ * <p>Only opaque and cutout layers are batched, as their draw order doesn't matter; translucent layers are instead
+ * passed through to the given vertex consumers as-is, as submitting them after all entities would draw them out of
+ * order with any other translucent geometry.</p>
+ *
+ * <p>Similarly to {@link RenderLod}, this is only active between {@link #beginWorldRender()} and
+ * {@link #flush(VertexConsumerProvider)}; anything rendered outside of that (such as in a GUI) is passed through as-is.</p>
+ */
+@Environment(EnvType.CLIENT)
+public final class BreastRenderBatch implements VertexConsumerProvider {
+	private static final BreastRenderBatch INSTANCE = new BreastRenderBatch();
+
+	private final Map<RenderLayer, Batch> batches = new LinkedHashMap<>();
+	private boolean active = false;
+	// the vertex consumers that the entity currently being rendered was given, which any translucent layers use
+	private @Nullable VertexConsumerProvider delegate;
+
+	private BreastRenderBatch() {
+	}
+
+	public static void beginWorldRender() {
+		INSTANCE.active = GlobalConfig.INSTANCE.get(GlobalConfig.RENDER_BATCHING);
+	}
+
+	/**
+	 * Get the vertex consumers that breast layers should render the given entity with
+	 */
+	public static VertexConsumerProvider wrap(VertexConsumerProvider vertexConsumers, BipedEntityRenderState state) {
+		// glowing entities render through an outline consumer, which is only valid for the entity it was given for
+		if(!INSTANCE.active || state.hasOutline) {
+			return vertexConsumers;
+		}
+		INSTANCE.delegate = vertexConsumers;
+		return INSTANCE;
+	}
+
+	/**
+	 * Submit all geometry recorded this frame to the given vertex consumers, and stop batching until the next frame
+	 *
+	 * @param vertexConsumers The vertex consumers to submit to, or {@code null} to simply discard anything recorded
+	 */
+	public static void flush(@Nullable VertexConsumerProvider vertexConsumers) {
+		INSTANCE.active = false;
+		INSTANCE.delegate = null;
+		Iterator<Batch> iterator = INSTANCE.batches.values().iterator();
+		while(iterator.hasNext()) {
+			Batch batch = iterator.next();
+			if(batch.size == 0) {
+				// nothing was rendered with this layer since the last frame, which is likely due to the entity that
+				// used it no longer being visible; drop the batch to avoid holding onto it forever
+				iterator.remove();
+				continue;
+			}
+			if(vertexConsumers != null) {
+				batch.submit(vertexConsumers.getBuffer(batch.layer));
+			}
+			batch.size = 0;
+		}
+	}
+
+	/**
+	 * Stop batching, discarding anything that wasn't flushed; this is a no-op if the frame was already flushed
+	 */
+	public static void endWorldRender() {
+		INSTANCE.active = false;
+		INSTANCE.delegate = null;
+		for(Batch batch : INSTANCE.batches.values()) {
+			batch.size = 0;
+		}
+	}
+
+	@Override
+	public VertexConsumer getBuffer(RenderLayer layer) {
+		if(layer.isTranslucent() && delegate != null) {
+			return delegate.getBuffer(layer);
+		}
+		return batches.computeIfAbsent(layer, Batch::new);
+	}
+
+	/**
+	 * Every vertex recorded for a single render layer, packed into an int array that's reused across frames
+	 */
+	private static final class Batch implements VertexConsumer {
+		private static final int X = 0, Y = 1, Z = 2, COLOR = 3, U = 4, V = 5, OVERLAY = 6, LIGHT = 7,
+				NORMAL_X = 8, NORMAL_Y = 9, NORMAL_Z = 10, STRIDE = 11;
+
+		private final RenderLayer layer;
+		private int[] data = new int[STRIDE * 4 * 6];
+		private int size = 0;
+		// start of the vertex currently being built through the per-element methods
+		private int vertex = -1;
+
+		private Batch(RenderLayer layer) {
+			this.layer = layer;
+		}
+
+		private int next() {
+			if(size + STRIDE > data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+			vertex = size;
+			size += STRIDE;
+			return vertex;
+		}
+
+		private void submit(VertexConsumer consumer) {
+			final int[] data = this.data;
+			for(int i = 0; i < size; i += STRIDE) {
+				consumer.vertex(Float.intBitsToFloat(data[i + X]), Float.intBitsToFloat(data[i + Y]), Float.intBitsToFloat(data[i + Z]),
+						data[i + COLOR], Float.intBitsToFloat(data[i + U]), Float.intBitsToFloat(data[i + V]),
+						data[i + OVERLAY], data[i + LIGHT],
+						Float.intBitsToFloat(data[i + NORMAL_X]), Float.intBitsToFloat(data[i + NORMAL_Y]), Float.intBitsToFloat(data[i + NORMAL_Z]));
+			}
+			vertex = -1;
+		}
+
+		@Override
+		public void vertex(float x, float y, float z, int color, float u, float v, int overlay, int light, float normalX, float normalY, float normalZ) {
+			int i = next();
+			data[i + X] = Float.floatToRawIntBits(x);
+			data[i + Y] = Float.floatToRawIntBits(y);
+			data[i + Z] = Float.floatToRawIntBits(z);
+			data[i + COLOR] = color;
+			data[i + U] = Float.floatToRawIntBits(u);
+			data[i + V] = Float.floatToRawIntBits(v);
+			data[i + OVERLAY] = overlay;
+			data[i + LIGHT] = light;
+			data[i + NORMAL_X] = Float.floatToRawIntBits(normalX);
+			data[i + NORMAL_Y] = Float.floatToRawIntBits(normalY);
+			data[i + NORMAL_Z] = Float.floatToRawIntBits(normalZ);
+		}
+
+		@Override
+		public VertexConsumer vertex(float x, float y, float z) {
+			int i = next();
+			Arrays.fill(data, i, i + STRIDE, 0);
+			data[i + X] = Float.floatToRawIntBits(x);
+			data[i + Y] = Float.floatToRawIntBits(y);
+			data[i + Z] = Float.floatToRawIntBits(z);
+			data[i + COLOR] = -1;
+			return this;
+		}
+
+		@Override
+		public VertexConsumer color(int red, int green, int blue, int alpha) {
+			if(vertex != -1) data[vertex + COLOR] = ColorHelper.getArgb(alpha, red, green, blue);
+			return this;
+		}
+
+		@Override
+		public VertexConsumer texture(float u, float v) {
+			if(vertex != -1) {
+				data[vertex + U] = Float.floatToRawIntBits(u);
+				data[vertex + V] = Float.floatToRawIntBits(v);
+			}
+			return this;
+		}
+
+		@Override
+		public VertexConsumer overlay(int u, int v) {
+			if(vertex != -1) data[vertex + OVERLAY] = (u & 0xFFFF) | (v & 0xFFFF) << 16;
+			return this;
+		}
+
+		@Override
+		public VertexConsumer light(int u, int v) {
+			if(vertex != -1) data[vertex + LIGHT] = (u & 0xFFFF) | (v & 0xFFFF) << 16;
+			return this;
+		}
+
+		@Override
+		public VertexConsumer normal(float x, float y, float z) {
+			if(vertex != -1) {
+				data[vertex + NORMAL_X] = Float.floatToRawIntBits(x);
+				data[vertex + NORMAL_Y] = Float.floatToRawIntBits(y);
+				data[vertex + NORMAL_Z] = Float.floatToRawIntBits(z);
+			}
+			return this;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.api.impl.GenderArmor;
+import com.wildfire.main.WildfireGender;
+import com.wildfire.main.WildfireHelper;
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.main.entitydata.Breasts;
+import com.wildfire.main.entitydata.EntityConfig;
+import com.wildfire.physics.BreastPhysics;
+import com.wildfire.physics.PhysicsSnapshot;
+import com.wildfire.physics.PhysicsWorld;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.entity.state.LivingEntityRenderState;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.EquippableComponent;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.equipment.EquipmentAsset;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>Everything required to render breasts for a single entity in a single frame.</p>
+ *
+ * <p>This is computed once per frame in {@code LivingEntityRenderer#updateRenderState} (see
+ * {@code LivingEntityRendererMixin}), and is then shared between {@link GenderLayer} and {@link GenderArmorLayer},
+ * such that neither has to look up the entity's config or armor, or read physics output by themselves.</p>
+ *
+ * @see RenderStateEntityCapture#getBreastRenderState()
+ */
+@Environment(EnvType.CLIENT)
+public class BreastRenderState {
+	/**
+	 * {@code true} if breasts should be rendered for this entity at all; if this is {@code false}, the remaining
+	 * fields may be left over from a previous frame.
+	 */
+	public boolean shouldRender;
+	/**
+	 * The reason that breasts aren't rendered for this entity, or {@code null} if {@link #shouldRender} is {@code true}
+	 */
+	public RenderStats.@Nullable Cull cull;
+	public RenderLod lod = RenderLod.FULL;
+
+	public IGenderArmor genderArmor = GenderArmor.EMPTY;
+	/**
+	 * The equipment asset of the worn chestplate, or {@code null} if the entity isn't wearing a chestplate with a model
+	 */
+	public @Nullable RegistryKey<EquipmentAsset> chestplateAsset;
+	public boolean isChestplateOccupied, hasJacketLayer, uniboob, bounceEnabled, breathingAnimation;
+	public float breastOffsetX, breastOffsetY, breastOffsetZ, outwardAngle;
+	/**
+	 * The interpolated breast size, before any of the adjustments made for rendering in {@link #breastSize}
+	 */
+	public float rawBreastSize;
+	public float breastSize, zOffset;
+	public float lPhysPositionX, lPhysPositionY, lPhysBounceRotation, rPhysPositionX, rPhysPositionY, rPhysBounceRotation;
+
+	public void update(LivingEntity entity, LivingEntityRenderState state, float tickDelta) {
+		try {
+			cull = compute(entity, state, tickDelta);
+		} catch(Exception e) {
+			cull = RenderStats.Cull.FAILED;
+			WildfireGender.LOGGER.error("Failed to update breast render state", e);
+		}
+		shouldRender = cull == null;
+	}
+
+	/**
+	 * @return The reason that breasts shouldn't be rendered for the given entity, or {@code null} if they should be
+	 */
+	private RenderStats.@Nullable Cull compute(LivingEntity entity, LivingEntityRenderState state, float tickDelta) {
+		if(!GlobalConfig.RENDER_BREASTS) return RenderStats.Cull.DISABLED;
+		if(!EntityConfig.isSupportedEntity(entity)) return RenderStats.Cull.UNSUPPORTED;
+		if(MinecraftClient.getInstance().player == null) {
+			// we're currently in a menu; we won't have any data loaded to begin with, so just give up early
+			return RenderStats.Cull.NO_PLAYER;
+		}
+
+		lod = RenderLod.select(state);
+		if(lod == RenderLod.SKIP) return RenderStats.Cull.LOD;
+
+		EntityConfig entityConfig = EntityConfig.getEntity(entity);
+		ItemStack armorStack = entity.getEquippedStack(EquipmentSlot.CHEST);
+		//Note: When the stack is empty the helper will fall back to an implementation that returns the proper data
+		genderArmor = WildfireHelper.getArmorConfig(armorStack);
+		isChestplateOccupied = genderArmor.coversBreasts() && !entityConfig.getArmorPhysicsOverride();
+		if(genderArmor.alwaysHidesBreasts() || !entityConfig.showBreastsInArmor() && isChestplateOccupied) {
+			//If the armor always hides breasts or there is armor and the player configured breasts
+			// to be hidden when wearing armor, we can just exit early rather than doing any calculations
+			return RenderStats.Cull.ARMOR;
+		}
+
+		// check if the worn item in the chest slot is actually equippable in the chest slot, and has a model to render
+		EquippableComponent equippable = armorStack.get(DataComponentTypes.EQUIPPABLE);
+		chestplateAsset = equippable != null && equippable.slot() == EquipmentSlot.CHEST ? equippable.assetId().orElse(null) : null;
+		hasJacketLayer = entityConfig.hasJacketLayer();
+
+		Breasts breasts = entityConfig.getBreasts();
+		uniboob = breasts.isUniboob();
+		breastOffsetX = Math.round((Math.round(breasts.getXOffset() * 100f) / 100f) * 10) / 10f;
+		breastOffsetY = -Math.round((Math.round(breasts.getYOffset() * 100f) / 100f) * 10) / 10f;
+		breastOffsetZ = -Math.round((Math.round(breasts.getZOffset() * 100f) / 100f) * 10) / 10f;
+		outwardAngle = (Math.round(breasts.getCleavage() * 100f) / 100f) * 100f;
+		outwardAngle = Math.min(outwardAngle, 10);
+		if(lod == RenderLod.REDUCED) {
+			// both breasts are rendered as a single merged box centered on the body, using the left breast's physics
+			uniboob = true;
+			breastOffsetX = 0;
+			outwardAngle = 0;
+		}
+
+		// only read physics output from the published snapshot, as the live state may be mid-update
+		PhysicsSnapshot physics = PhysicsWorld.INSTANCE.getSnapshot();
+		BreastPhysics leftBreastPhysics = entityConfig.getLeftBreastPhysics();
+		final float bSize = physics.getBreastSize(leftBreastPhysics, tickDelta);
+		rawBreastSize = bSize;
+
+		lPhysPositionY = physics.getPositionY(leftBreastPhysics, tickDelta);
+		lPhysPositionX = physics.getPositionX(leftBreastPhysics, tickDelta);
+		lPhysBounceRotation = physics.getBounceRotation(leftBreastPhysics, tickDelta);
+		if(uniboob) {
+			rPhysPositionY = lPhysPositionY;
+			rPhysPositionX = lPhysPositionX;
+			rPhysBounceRotation = lPhysBounceRotation;
+		} else {
+			BreastPhysics rightBreastPhysics = entityConfig.getRightBreastPhysics();
+			rPhysPositionY = physics.getPositionY(rightBreastPhysics, tickDelta);
+			rPhysPositionX = physics.getPositionX(rightBreastPhysics, tickDelta);
+			rPhysBounceRotation = physics.getBounceRotation(rightBreastPhysics, tickDelta);
+		}
+
+		breastSize = Math.min(bSize * 1.5f, 0.7f); // Limit the max size to 0.7f
+
+		if (bSize > 0.7f) {
+			breastSize = bSize; // If bSize exceeds 0.7f, use bSize
+		}
+
+		if (breastSize < 0.02f) {
+			return RenderStats.Cull.TOO_SMALL; // Don't render if breastSize is too small
+		}
+
+		zOffset = 0.0625f - (bSize * 0.0625f); // Calculate zOffset
+		breastSize += 0.5f * Math.abs(bSize - 0.7f) * 2f; // Adjust breastSize based on bSize
+
+		float resistance = MathHelper.clamp(genderArmor.physicsResistance(), 0, 1);
+		// whether the entity can breathe is checked once per tick alongside physics, as it requires a block lookup
+		breathingAnimation = (entityConfig.getArmorPhysicsOverride() || resistance <= 0.5F) && entityConfig.canBreathe();
+		bounceEnabled = entityConfig.hasBreastPhysics() && (!isChestplateOccupied || resistance < 1); //oh, you found this?
+		return null;
+	}
+}
@@ -21,16 +21,10 @@ package com.wildfire.render;
 import com.wildfire.api.IBreastArmorTexture;
 import com.wildfire.api.impl.BreastArmorTexture;
 import com.wildfire.main.WildfireGender;
-import com.wildfire.main.entitydata.EntityConfig;
-import com.wildfire.mixins.accessors.EquipmentRendererAccessor;
-import com.wildfire.mixins.accessors.TextureManagerAccessor;
-import com.wildfire.mixins.accessors.TrimSpriteKeyConstructorAccessor;
 import com.wildfire.render.WildfireModelRenderer.BreastModelBox;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.*;
-import net.minecraft.client.render.entity.equipment.EquipmentModel;
 import net.minecraft.client.render.entity.equipment.EquipmentModelLoader;
 import net.minecraft.client.render.entity.equipment.EquipmentRenderer;
 import net.minecraft.client.render.entity.feature.FeatureRendererContext;
@@ -39,25 +33,17 @@ import net.minecraft.client.render.entity.state.ArmorStandEntityRenderState;
 import net.minecraft.client.render.entity.state.BipedEntityRenderState;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
 import net.minecraft.client.render.item.ItemRenderer;
-import net.minecraft.client.texture.Sprite;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.DyedColorComponent;
-import net.minecraft.entity.EquipmentSlot;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.equipment.EquipmentAsset;
-import net.minecraft.item.equipment.trim.ArmorTrim;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.tag.ItemTags;
-import net.minecraft.util.Identifier;
-import net.minecraft.util.Util;
-import net.minecraft.util.math.ColorHelper;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
-import java.util.function.Function;
 
 @Environment(EnvType.CLIENT)
 public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedEntityModel<S>> extends GenderLayer<S, M> {
@@ -65,16 +51,11 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 	private final EquipmentRenderer equipmentRenderer;
 	private final EquipmentModelLoader equipmentModelLoader;
 	protected BreastModelBox lBoobArmor, rBoobArmor;
+	// null if the armor texture doesn't lay out both breasts next to each other
+	protected @Nullable BreastModelBox mergedBoobArmor;
 	protected static final BreastModelBox lTrim, rTrim;
-	private EntityConfig entityConfig;
 	private @NotNull IBreastArmorTexture textureData = BreastArmorTexture.DEFAULT;
 
-	private static final Function<Identifier, Boolean> TEXTURE_EXISTS = Util.memoize(id -> {
-		var texManager = MinecraftClient.getInstance().getTextureManager();
-		var resourceManager = ((TextureManagerAccessor) texManager).getResourceContainer();
-		return resourceManager.getResource(id).isPresent();
-	});
-
 	static {
 		// apply a very slight delta to fix z-fighting with the armor
 		lTrim = new BreastModelBox(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.001F, false);
@@ -87,81 +68,90 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 		this.equipmentModelLoader = equipmentModelLoader;
 		lBoobArmor = new BreastModelBox(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
 		rBoobArmor = new BreastModelBox(64, 32, 20, 17, 0, 0.0F, 0F, 4, 5, 3, 0.0F, false);
+		mergedBoobArmor = new BreastModelBox(64, 32, 16, 17, -4F, 0.0F, 0F, 8, 5, 3, 0.0F, false);
 	}
 
 	@Override
 	public void render(MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light, S state, float limbAngle, float limbDistance) {
-		MinecraftClient client = MinecraftClient.getInstance();
-		if(client.player == null) {
-			// we're currently in a menu, give up rendering before we crash the game
-			return;
-		}
-
-		LivingEntity ent = getEntity(state);
-		if(ent == null) return;
-
+		BreastRenderState breastState = getBreastState(state);
 		final ItemStack chestplate = state.equippedChestStack;
-		// Check if the worn item in the chest slot is actually equippable in the chest slot, and has a model to render
-		var component = chestplate.get(DataComponentTypes.EQUIPPABLE);
-		if(component == null || component.slot() != EquipmentSlot.CHEST || component.assetId().isEmpty()) return;
-
+		long start = RenderStats.begin(RenderStats.Feature.ARMOR);
 		try {
-			entityConfig = EntityConfig.getEntity(ent);
-
-			if(!setupRender(state, entityConfig)) return;
-			if(ent instanceof ArmorStandEntity && !genderArmor.armorStandsCopySettings()) return;
+			if(!setupRender(state)) return;
+			// checked by getLayerCull when setting up rendering
+			final RegistryKey<EquipmentAsset> asset = Objects.requireNonNull(breastState.chestplateAsset);
 
 			int color = chestplate.isIn(ItemTags.DYEABLE) ? DyedColorComponent.getColor(chestplate, -1) : -1;
-			boolean glint = chestplate.hasGlint();
+			// reduced detail skips any extra passes for the armor glint and trim
+			boolean reduced = breastState.lod == RenderLod.REDUCED;
+			boolean glint = !reduced && chestplate.hasGlint();
+			var trim = reduced ? null : chestplate.get(DataComponentTypes.TRIM);
+			ArmorRenderPlan plan = ArmorRenderPlan.get(equipmentModelLoader, equipmentRenderer, asset, color, trim);
+			// glint is drawn with an equal depth test against the armor below it, and as such has to be drawn right
+			// after it, instead of the armor being deferred until after every entity has rendered
+			VertexConsumerProvider vertexConsumers = glint ? vertexConsumerProvider : BreastRenderBatch.wrap(vertexConsumerProvider, state);
 
 			renderSides(state, getContextModel(), matrixStack, side -> {
-				var asset = component.assetId().orElseThrow();
-				// TODO is there still a need to allow for overriding the armor texture identifier?
-				equipmentModelLoader.get(asset).getLayers(EquipmentModel.LayerType.HUMANOID).forEach(layer -> {
-					// mojang what the Optional hell is this
-					int layerColor = layer.dyeable().map(dye -> {
-						int defaultColor = dye.colorWhenUndyed().map(ColorHelper::fullAlpha).orElse(-1);
-						return color != -1 ? color : defaultColor;
-					}).orElse(-1);
-					var texture = layer.getFullTextureId(EquipmentModel.LayerType.HUMANOID);
-					renderBreastArmor(texture, matrixStack, vertexConsumerProvider, light, side, layerColor, glint);
-				});
-
-				var trim = armorStack.get(DataComponentTypes.TRIM);
-				if(trim != null) {
-					renderArmorTrim(asset, matrixStack, vertexConsumerProvider, light, trim, glint, side);
+				for(ArmorRenderPlan.Layer layer : plan.layers()) {
+					if(reduced) {
+						renderMergedArmor(layer, matrixStack, vertexConsumers, light);
+					} else {
+						renderBreastArmor(layer, matrixStack, vertexConsumers, light, side, glint);
+					}
+				}
+				if(plan.trimSprite() != null) {
+					renderArmorTrim(plan, matrixStack, vertexConsumers, light, glint, side);
 				}
 			});
 		} catch(Exception e) {
 			WildfireGender.LOGGER.error("Failed to render breast armor", e);
+		} finally {
+			RenderStats.end(start);
 		}
 	}
 
 	@Override
-	protected boolean isLayerVisible(S state) {
-		return genderArmor.coversBreasts();
+	protected RenderStats.@Nullable Cull getLayerCull(S state) {
+		BreastRenderState breastState = getBreastState(state);
+		if(!breastState.genderArmor.coversBreasts()) {
+			return RenderStats.Cull.NOT_COVERED;
+		}
+		// only render if the worn chestplate has a model to render
+		if(breastState.chestplateAsset == null) {
+			return RenderStats.Cull.NO_MODEL;
+		}
+		if(state instanceof ArmorStandEntityRenderState && !breastState.genderArmor.armorStandsCopySettings()) {
+			return RenderStats.Cull.ARMOR_STAND;
+		}
+		return null;
 	}
 
 	@Override
-	protected void resizeBox(float breastSize) {
-		if(genderArmor == null || Objects.equals(textureData, genderArmor.texture())) {
+	protected void resizeBox(BreastRenderState breastState) {
+		if(Objects.equals(textureData, breastState.genderArmor.texture())) {
 			return;
 		}
 
-		textureData = genderArmor.texture();
+		textureData = breastState.genderArmor.texture();
 		var texSize = textureData.textureSize();
 		var lUV = textureData.leftUv();
 		var dim = textureData.dimensions();
-		lBoobArmor = new BreastModelBox(texSize.x(), texSize.y(), lUV.x(), lUV.y(), -4F, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
+		lBoobArmor = ModelBoxCache.getBreast(texSize.x(), texSize.y(), lUV.x(), lUV.y(), -4F, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F);
 		var rUV = textureData.rightUv();
-		rBoobArmor = new BreastModelBox(texSize.x(), texSize.y(), rUV.x(), rUV.y(), 0, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
+		rBoobArmor = ModelBoxCache.getBreast(texSize.x(), texSize.y(), rUV.x(), rUV.y(), 0, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F);
+		if(rUV.x() == lUV.x() + dim.x() && rUV.y() == lUV.y()) {
+			// spans the texture of both breasts, same as the merged box used for the breasts themselves
+			mergedBoobArmor = ModelBoxCache.getBreast(texSize.x(), texSize.y(), lUV.x(), lUV.y(), -4F, 0.0F, 0F, dim.x() * 2, dim.y(), 3, 0.0F);
+		} else {
+			mergedBoobArmor = null;
+		}
 	}
 
 	@Override
 	protected void setupTransformations(S state, M model, MatrixStack matrixStack, BreastSide side) {
 		super.setupTransformations(state, model, matrixStack, side);
 		if((state instanceof PlayerEntityRenderState playerState && playerState.jacketVisible) ||
-				(state instanceof ArmorStandEntityRenderState && entityConfig.hasJacketLayer())) {
+				(state instanceof ArmorStandEntityRenderState && getBreastState(state).hasJacketLayer)) {
 			matrixStack.translate(0, 0, -0.015f);
 			matrixStack.scale(1.05f, 1.05f, 1.05f);
 		}
@@ -170,30 +160,33 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 	}
 
 	// TODO eventually expose some way for mods to override this, maybe through a default impl in IGenderArmor or similar
-	protected void renderBreastArmor(Identifier texture, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
-	                                 int light, BreastSide side, int color, boolean glint) {
-		if(!TEXTURE_EXISTS.apply(texture)) {
+	protected void renderBreastArmor(ArmorRenderPlan.Layer layer, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
+	                                 int light, BreastSide side, boolean glint) {
+		BreastModelBox armor = side.isLeft ? lBoobArmor : rBoobArmor;
+		VertexConsumer armorVertexConsumer = ItemRenderer.getArmorGlintConsumer(vertexConsumerProvider, layer.renderLayer(), glint);
+		renderBox(armor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, layer.color());
+	}
+
+	/**
+	 * Render a single armor layer covering both breasts at once, as done with {@link RenderLod#REDUCED reduced detail}
+	 */
+	protected void renderMergedArmor(ArmorRenderPlan.Layer layer, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light) {
+		VertexConsumer armorVertexConsumer = vertexConsumerProvider.getBuffer(layer.renderLayer());
+		if(mergedBoobArmor != null) {
+			renderBox(mergedBoobArmor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, layer.color());
 			return;
 		}
-
-		BreastModelBox armor = side.isLeft ? lBoobArmor : rBoobArmor;
-		RenderLayer armorType = RenderLayer.getArmorCutoutNoCull(texture);
-		VertexConsumer armorVertexConsumer = ItemRenderer.getArmorGlintConsumer(vertexConsumerProvider, armorType, glint);
-		renderBox(armor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, ColorHelper.fullAlpha(color));
+		// reduced detail renders both breasts with the same neutral transform, so both boxes still line up exactly
+		renderBox(lBoobArmor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, layer.color());
+		renderBox(rBoobArmor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, layer.color());
 	}
 
-	protected void renderArmorTrim(RegistryKey<EquipmentAsset> armorModel, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
-								   int light, ArmorTrim trim, boolean hasGlint, BreastSide side) {
+	protected void renderArmorTrim(ArmorRenderPlan plan, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
+								   int light, boolean hasGlint, BreastSide side) {
 		BreastModelBox trimModelBox = side.isLeft ? lTrim : rTrim;
 
-		// this sucks, but it sucks less than simply copy/pasting the entire relevant block of code, and is
-		// (at least theoretically) more compatible with other mods, assuming they simply mixin to TrimSpriteKey
-		// to modify the armor trim sprite location.
-		var key = TrimSpriteKeyConstructorAccessor.newKey(trim, EquipmentModel.LayerType.HUMANOID, armorModel);
-		Sprite sprite = ((EquipmentRendererAccessor)equipmentRenderer).getTrimSprites().apply(key);
-
-		var buffer = vertexConsumerProvider.getBuffer(TexturedRenderLayers.getArmorTrims(trim.pattern().value().decal()));
-		var vertexConsumer = sprite.getTextureSpecificVertexConsumer(buffer);
+		var buffer = vertexConsumerProvider.getBuffer(Objects.requireNonNull(plan.trimRenderLayer()));
+		var vertexConsumer = Objects.requireNonNull(plan.trimSprite()).getTextureSpecificVertexConsumer(buffer);
 		// Render the armor trim itself
 		renderBox(trimModelBox, matrixStack, vertexConsumer, light, OverlayTexture.DEFAULT_UV, -1);
 		// The enchantment glint however requires special handling; due to how Minecraft's enchant glint rendering works, rendering
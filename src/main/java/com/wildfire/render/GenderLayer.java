@@ -18,25 +18,15 @@
 
 package com.wildfire.render;
 
-import com.wildfire.api.IGenderArmor;
-import com.wildfire.main.config.GlobalConfig;
-import com.wildfire.main.entitydata.Breasts;
 import com.wildfire.main.WildfireGender;
-import com.wildfire.main.WildfireHelper;
-import com.wildfire.main.entitydata.EntityConfig;
-import com.wildfire.physics.BreastPhysics;
 import com.wildfire.render.WildfireModelRenderer.BreastModelBox;
 import com.wildfire.render.WildfireModelRenderer.OverlayModelBox;
-import com.wildfire.render.WildfireModelRenderer.PositionTextureVertex;
 
 import java.lang.Math;
-import java.util.Objects;
 import java.util.function.Consumer;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.minecraft.block.Blocks;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.model.*;
 import net.minecraft.client.render.*;
 import net.minecraft.client.render.entity.LivingEntityRenderer;
@@ -47,8 +37,6 @@ import net.minecraft.client.render.entity.state.BipedEntityRenderState;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.effect.StatusEffectUtil;
-import net.minecraft.item.ItemStack;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.*;
 import org.jetbrains.annotations.Nullable;
@@ -59,18 +47,14 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 
 	private static final float DEG_TO_RAD = (float) (Math.PI / 180);
 
-	private BreastModelBox lBreast, rBreast;
+	private BreastModelBox lBreast, rBreast, mergedBreast;
 	private static final OverlayModelBox lBreastWear, rBreastWear;
 
 	private final FeatureRendererContext<S, M> context;
+	// reused for every rotation applied in setupTransformations, as this is only ever used from the render thread
+	private final Quaternionf scratchRotation = new Quaternionf();
 
 	private float preBreastSize, preBreastOffsetZ;
-	private Breasts breasts;
-	protected ItemStack armorStack;
-	protected IGenderArmor genderArmor;
-	protected boolean isChestplateOccupied, bounceEnabled, breathingAnimation;
-	protected float breastOffsetX, breastOffsetY, breastOffsetZ, lPhysPositionY, lPhysPositionX, rPhysPositionY, rPhysPositionX,
-			lPhysBounceRotation, rPhysBounceRotation, breastSize, zOffset, outwardAngle;
 
 	static {
 		lBreastWear = new OverlayModelBox(true, 64, 64, 17, 34, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
@@ -83,6 +67,7 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 		// this can't be static or final as we need the ability to resize this during render time
 		lBreast = new BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.0F, false);
 		rBreast = new BreastModelBox(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, 4, 0.0F, false);
+		mergedBreast = new BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 8, 5, 4, 0.0F, false);
 	}
 
 	/**
@@ -92,6 +77,13 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 		return ((RenderStateEntityCapture)state).getEntity();
 	}
 
+	/**
+	 * Convenience method for getting the breast render state computed for the given render state
+	 */
+	protected BreastRenderState getBreastState(S state) {
+		return ((RenderStateEntityCapture)state).getBreastRenderState();
+	}
+
 	/**
 	 * Copy of {@code LivingEntityRenderer#getRenderLayer}
 	 */
@@ -118,27 +110,20 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 
 	@Override
 	public void render(MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light, S state, float limbAngle, float limbDistance) {
-		MinecraftClient client = MinecraftClient.getInstance();
-		if(client.player == null) {
-			// we're currently in a menu; we won't have any data loaded to begin with, so just give up early
-			return;
-		}
-
-		LivingEntity ent = getEntity(state);
-		if(ent == null) return;
-
-		EntityConfig entityConfig = EntityConfig.getEntity(ent);
-
+		long start = RenderStats.begin(RenderStats.Feature.BREASTS);
 		try {
-			if(!setupRender(state, entityConfig)) return;
+			if(!setupRender(state)) return;
 			int overlay = LivingEntityRenderer.getOverlay(state, 0);
+			VertexConsumerProvider vertexConsumers = BreastRenderBatch.wrap(vertexConsumerProvider, state);
 
 			//noinspection CodeBlock2Expr
 			renderSides(state, getContextModel(), matrixStack, side -> {
-				renderBreast(state, matrixStack, vertexConsumerProvider, light, overlay, side);
+				renderBreast(state, matrixStack, vertexConsumers, light, overlay, side);
 			});
 		} catch(Exception e) {
 			WildfireGender.LOGGER.error("Failed to render breast layer", e);
+		} finally {
+			RenderStats.end(start);
 		}
 	}
 
@@ -148,140 +133,103 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 	 * @return {@code true} if rendering should continue
 	 */
 	@SuppressWarnings("BooleanMethodIsAlwaysInverted")
-	protected boolean setupRender(S state, EntityConfig entityConfig) {
-		if(!GlobalConfig.RENDER_BREASTS) return false;
-
-		float partialTicks = MinecraftClient.getInstance().getRenderTickCounter().getTickDelta(true);
-		LivingEntity entity = Objects.requireNonNull(getEntity(state), "getEntity()");
-
-		armorStack = state.equippedChestStack;
-		//Note: When the stack is empty the helper will fall back to an implementation that returns the proper data
-		genderArmor = WildfireHelper.getArmorConfig(armorStack);
-		isChestplateOccupied = genderArmor.coversBreasts() && !entityConfig.getArmorPhysicsOverride();
-		if(genderArmor.alwaysHidesBreasts() || !entityConfig.showBreastsInArmor() && isChestplateOccupied) {
-			//If the armor always hides breasts or there is armor and the player configured breasts
-			// to be hidden when wearing armor, we can just exit early rather than doing any calculations
+	protected boolean setupRender(S state) {
+		BreastRenderState breastState = getBreastState(state);
+		if(!breastState.shouldRender) {
+			// only ever null if the render state was never computed for this entity
+			if(breastState.cull != null) RenderStats.culled(breastState.cull);
 			return false;
 		}
-
-		if(!isLayerVisible(state)) {
+		RenderStats.Cull layerCull = getLayerCull(state);
+		if(layerCull != null) {
+			RenderStats.culled(layerCull);
 			return false;
 		}
-
-		breasts = entityConfig.getBreasts();
-		breastOffsetX = Math.round((Math.round(breasts.getXOffset() * 100f) / 100f) * 10) / 10f;
-		breastOffsetY = -Math.round((Math.round(breasts.getYOffset() * 100f) / 100f) * 10) / 10f;
-		breastOffsetZ = -Math.round((Math.round(breasts.getZOffset() * 100f) / 100f) * 10) / 10f;
-
-		BreastPhysics leftBreastPhysics = entityConfig.getLeftBreastPhysics();
-		final float bSize = leftBreastPhysics.getBreastSize(partialTicks);
-		outwardAngle = (Math.round(breasts.getCleavage() * 100f) / 100f) * 100f;
-		outwardAngle = Math.min(outwardAngle, 10);
-
-		resizeBox(bSize);
-
-		lPhysPositionY = MathHelper.lerp(partialTicks, leftBreastPhysics.getPrePositionY(), leftBreastPhysics.getPositionY());
-		lPhysPositionX = MathHelper.lerp(partialTicks, leftBreastPhysics.getPrePositionX(), leftBreastPhysics.getPositionX());
-		lPhysBounceRotation = MathHelper.lerp(partialTicks, leftBreastPhysics.getPreBounceRotation(), leftBreastPhysics.getBounceRotation());
-		if(breasts.isUniboob()) {
-			rPhysPositionY = lPhysPositionY;
-			rPhysPositionX = lPhysPositionX;
-			rPhysBounceRotation = lPhysBounceRotation;
-		} else {
-			BreastPhysics rightBreastPhysics = entityConfig.getRightBreastPhysics();
-			rPhysPositionY = MathHelper.lerp(partialTicks, rightBreastPhysics.getPrePositionY(), rightBreastPhysics.getPositionY());
-			rPhysPositionX = MathHelper.lerp(partialTicks, rightBreastPhysics.getPrePositionX(), rightBreastPhysics.getPositionX());
-			rPhysBounceRotation = MathHelper.lerp(partialTicks, rightBreastPhysics.getPreBounceRotation(), rightBreastPhysics.getBounceRotation());
-		}
-
-		breastSize = Math.min(bSize * 1.5f, 0.7f); // Limit the max size to 0.7f
-
-		if (bSize > 0.7f) {
-			breastSize = bSize; // If bSize exceeds 0.7f, use bSize
-		}
-
-		if (breastSize < 0.02f) {
-			return false; // Return false if breastSize is too small
-		}
-
-		zOffset = 0.0625f - (bSize * 0.0625f); // Calculate zOffset
-		breastSize += 0.5f * Math.abs(bSize - 0.7f) * 2f; // Adjust breastSize based on bSize
-
-		float resistance = MathHelper.clamp(genderArmor.physicsResistance(), 0, 1);
-		//Note: We only check if the breathing animation should be enabled if the chestplate's physics resistance
-		// is less than or equal to 0.5 so that if we won't be rendering it we can avoid doing extra calculations
-		breathingAnimation = ((entityConfig.getArmorPhysicsOverride() || resistance <= 0.5F) &&
-				(!entity.isSubmergedInWater() || StatusEffectUtil.hasWaterBreathing(entity) ||
-						entity.getWorld().getBlockState(new BlockPos(entity.getBlockX(), entity.getBlockY(), entity.getBlockZ())).isOf(Blocks.BUBBLE_COLUMN)));
-		bounceEnabled = entityConfig.hasBreastPhysics() && (!isChestplateOccupied || resistance < 1); //oh, you found this?
+		resizeBox(breastState);
+		RenderStats.rendered();
 		return true;
 	}
 
-	protected boolean isLayerVisible(S state) {
-		return !state.invisibleToPlayer || state.hasOutline;
+	/**
+	 * @return The reason this layer shouldn't be rendered for the given entity, or {@code null} if it should be
+	 */
+	protected RenderStats.@Nullable Cull getLayerCull(S state) {
+		return !state.invisibleToPlayer || state.hasOutline ? null : RenderStats.Cull.HIDDEN;
 	}
 
-	protected void resizeBox(float breastSize) {
+	protected void resizeBox(BreastRenderState breastState) {
+		float breastSize = breastState.rawBreastSize, breastOffsetZ = breastState.breastOffsetZ;
 		float reducer = -1;
 		if(breastSize < 0.84f) reducer++;
 		if(breastSize < 0.72f) reducer++;
 
 		if(preBreastSize != breastSize || preBreastOffsetZ != breastOffsetZ) {
-			lBreast = new BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, (int) (4 - breastOffsetZ - reducer), 0.0F, false);
-			rBreast = new BreastModelBox(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, (int) (4 - breastOffsetZ - reducer), 0.0F, false);
+			int depth = (int) (4 - breastOffsetZ - reducer);
+			lBreast = ModelBoxCache.getBreast(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, depth, 0.0F);
+			rBreast = ModelBoxCache.getBreast(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, depth, 0.0F);
+			// spans the texture of both breasts, which are laid out next to each other
+			mergedBreast = ModelBoxCache.getBreast(64, 64, 16, 17, -4F, 0.0F, 0F, 8, 5, depth, 0.0F);
 			preBreastSize = breastSize;
 			preBreastOffsetZ = breastOffsetZ;
 		}
 	}
 
 	protected void setupTransformations(S state, M model, MatrixStack matrixStack, BreastSide side) {
-		if(state.baby) {
-			matrixStack.scale(state.ageScale, state.ageScale, state.ageScale);
+		applyBreastTransformations(getBreastState(state), model.body, state.baby, state.ageScale, state.age, matrixStack, side);
+	}
+
+	/**
+	 * Apply the transformations for a single breast; this is split from {@link #setupTransformations} to allow for
+	 * benchmarking this without a full render state
+	 */
+	void applyBreastTransformations(BreastRenderState breastState, ModelPart body, boolean baby, float ageScale, float age,
+	                                MatrixStack matrixStack, BreastSide side) {
+		if(baby) {
+			matrixStack.scale(ageScale, ageScale, ageScale);
 			matrixStack.translate(0f, 0.75f, 0f);
 		}
 
-		ModelPart body = model.body;
 		matrixStack.translate(body.pivotX * 0.0625f, body.pivotY * 0.0625f, body.pivotZ * 0.0625f);
 		if(body.roll != 0.0F || body.yaw != 0.0F || body.pitch != 0.0F) {
-			matrixStack.multiply(new Quaternionf().rotationZYX(body.roll, body.yaw, body.pitch));
+			matrixStack.multiply(scratchRotation.rotationZYX(body.roll, body.yaw, body.pitch));
 		}
 
-		if(bounceEnabled) {
-			matrixStack.translate((side.isLeft ? lPhysPositionX : rPhysPositionX) / 32f, 0, 0);
-			matrixStack.translate(0, (side.isLeft ? lPhysPositionY : rPhysPositionY) / 32f, 0);
+		if(breastState.bounceEnabled) {
+			matrixStack.translate((side.isLeft ? breastState.lPhysPositionX : breastState.rPhysPositionX) / 32f, 0, 0);
+			matrixStack.translate(0, (side.isLeft ? breastState.lPhysPositionY : breastState.rPhysPositionY) / 32f, 0);
 		}
 
-		matrixStack.translate((side.isLeft ? breastOffsetX : -breastOffsetX) * 0.0625f, 0.05625f + (breastOffsetY * 0.0625f), zOffset - 0.0625f * 2f + (breastOffsetZ * 0.0625f)); //shift down to correct position
+		matrixStack.translate((side.isLeft ? breastState.breastOffsetX : -breastState.breastOffsetX) * 0.0625f, 0.05625f + (breastState.breastOffsetY * 0.0625f), breastState.zOffset - 0.0625f * 2f + (breastState.breastOffsetZ * 0.0625f)); //shift down to correct position
 
-		if(!breasts.isUniboob()) {
+		if(!breastState.uniboob) {
 			matrixStack.translate(-0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
 		}
-		if(bounceEnabled) {
-			matrixStack.multiply(new Quaternionf().rotationXYZ(0, (float)((side.isLeft ? lPhysBounceRotation : rPhysBounceRotation) * (Math.PI / 180f)), 0));
+		if(breastState.bounceEnabled) {
+			matrixStack.multiply(scratchRotation.rotationXYZ(0, (float)((side.isLeft ? breastState.lPhysBounceRotation : breastState.rPhysBounceRotation) * (Math.PI / 180f)), 0));
 		}
-		if(!breasts.isUniboob()) {
+		if(!breastState.uniboob) {
 			matrixStack.translate(0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
 		}
 
-		float rotation = breastSize;
-		if(bounceEnabled) {
-			matrixStack.translate(0, -0.035f * breastSize, 0); //shift down to correct position
-			rotation -= (side.isLeft ? lPhysPositionY : rPhysPositionY) / 12f;
+		float rotation = breastState.breastSize;
+		if(breastState.bounceEnabled) {
+			matrixStack.translate(0, -0.035f * breastState.breastSize, 0); //shift down to correct position
+			rotation -= (side.isLeft ? breastState.lPhysPositionY : breastState.rPhysPositionY) / 12f;
 		}
 
-		rotation = Math.min(rotation, breastSize + 0.2f);
+		rotation = Math.min(rotation, breastState.breastSize + 0.2f);
 		rotation = Math.min(rotation, 1); //hard limit for MAX
 
-		if(isChestplateOccupied) {
+		if(breastState.isChestplateOccupied) {
 			matrixStack.translate(0, 0, 0.01f);
 		}
 
-		Quaternionf rotationTransform = new Quaternionf()
-				.rotationY((side.isLeft ? outwardAngle : -outwardAngle) * DEG_TO_RAD)
+		Quaternionf rotationTransform = scratchRotation
+				.rotationY((side.isLeft ? breastState.outwardAngle : -breastState.outwardAngle) * DEG_TO_RAD)
 				.rotateX(-35f * rotation * DEG_TO_RAD);
 
-		if(breathingAnimation) {
-			float f5 = -MathHelper.cos(state.age * 0.09F) * 0.45F + 0.45F;
+		if(breastState.breathingAnimation) {
+			float f5 = -MathHelper.cos(age * 0.09F) * 0.45F + 0.45F;
 			rotationTransform.rotateX(f5 * DEG_TO_RAD);
 		}
 
@@ -296,6 +244,10 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 		int alpha = state.invisible ? ColorHelper.channelFromFloat(0.15f) : 255;
 		int color = ColorHelper.getArgb(alpha, 255, 255, 255);
 		VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(breastRenderType);
+		if(getBreastState(state).lod == RenderLod.REDUCED) {
+			renderBox(mergedBreast, matrixStack, vertexConsumer, light, overlay, color);
+			return;
+		}
 		renderBox(side.isLeft ? lBreast : rBreast, matrixStack, vertexConsumer, light, overlay, color);
 		if(state instanceof PlayerEntityRenderState playerState && playerState.jacketVisible) {
 			matrixStack.translate(0, 0, -0.015f);
@@ -312,6 +264,8 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 		} finally {
 			matrixStack.pop();
 		}
+		// reduced detail renders both breasts at once
+		if(getBreastState(state).lod == RenderLod.REDUCED) return;
 
 		matrixStack.push();
 		try {
@@ -324,20 +278,33 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 
 	protected static void renderBox(WildfireModelRenderer.ModelBox model, MatrixStack matrixStack, VertexConsumer vertexConsumer,
 									int light, int overlay, int color) {
-		Matrix4f matrix4f = matrixStack.peek().getPositionMatrix();
-		Matrix3f matrix3f = matrixStack.peek().getNormalMatrix();
-		for(WildfireModelRenderer.TexturedQuad quad : model.quads) {
-			Vector3f vector3f = new Vector3f(quad.normal.x, quad.normal.y, quad.normal.z).mul(matrix3f);
-			float normalX = vector3f.x;
-			float normalY = vector3f.y;
-			float normalZ = vector3f.z;
-			for(PositionTextureVertex vertex : quad.vertexPositions) {
-				float j = vertex.x() / 16.0F;
-				float k = vertex.y() / 16.0F;
-				float l = vertex.z() / 16.0F;
-				Vector4f vector4f = new Vector4f(j, k, l, 1.0F).mul(matrix4f);
-				vertexConsumer.vertex(vector4f.x(), vector4f.y(), vector4f.z(), color, vertex.u(), vertex.v(),
-						overlay, light, normalX, normalY, normalZ);
+		// this is called for every box rendered on every visible entity each frame, so read both matrices into locals
+		// and transform the pre-baked vertex data directly, instead of allocating a JOML vector for every vertex.
+		// the operations are nested in the same order as Vector3f#mul and Vector4f#mul to produce identical results.
+		MatrixStack.Entry entry = matrixStack.peek();
+		Matrix4f position = entry.getPositionMatrix();
+		final float p00 = position.m00(), p01 = position.m01(), p02 = position.m02();
+		final float p10 = position.m10(), p11 = position.m11(), p12 = position.m12();
+		final float p20 = position.m20(), p21 = position.m21(), p22 = position.m22();
+		final float p30 = position.m30(), p31 = position.m31(), p32 = position.m32();
+		Matrix3f normal = entry.getNormalMatrix();
+		final float n00 = normal.m00(), n01 = normal.m01(), n02 = normal.m02();
+		final float n10 = normal.m10(), n11 = normal.m11(), n12 = normal.m12();
+		final float n20 = normal.m20(), n21 = normal.m21(), n22 = normal.m22();
+
+		final float[] data = model.vertexData;
+		RenderStats.vertices(data.length / WildfireModelRenderer.ModelBox.QUAD_STRIDE * 4);
+		int i = 0;
+		while(i < data.length) {
+			float nx = data[i++], ny = data[i++], nz = data[i++];
+			float normalX = n00 * nx + (n10 * ny + n20 * nz);
+			float normalY = n01 * nx + (n11 * ny + n21 * nz);
+			float normalZ = n02 * nx + (n12 * ny + n22 * nz);
+			for(int vertex = 0; vertex < 4; vertex++) {
+				float x = data[i++], y = data[i++], z = data[i++];
+				float u = data[i++], v = data[i++];
+				vertexConsumer.vertex(p00 * x + (p10 * y + (p20 * z + p30)), p01 * x + (p11 * y + (p21 * z + p31)),
+						p02 * x + (p12 * y + (p22 * z + p32)), color, u, v, overlay, light, normalX, normalY, normalZ);
 			}
 		}
 	}
@@ -52,7 +52,12 @@ public class HolidayFeaturesRenderer extends FeatureRenderer<PlayerEntityRenderS
 		var config = WildfireGender.getPlayerById(entity.getUuid());
 		if(config == null || !config.hasHolidayThemes()) return;
 
-		renderSantaHat(state, matrices, vertexConsumers, light);
+		long start = RenderStats.begin(RenderStats.Feature.HOLIDAY);
+		try {
+			renderSantaHat(state, matrices, vertexConsumers, light);
+		} finally {
+			RenderStats.end(start);
+		}
 	}
 
 	private void renderSantaHat(PlayerEntityRenderState state, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light) {
@@ -77,6 +82,9 @@ public class HolidayFeaturesRenderer extends FeatureRenderer<PlayerEntityRenderS
 			}
 
 			santaHat.render(matrixStack, vertexConsumer, light, overlay);
+			RenderStats.rendered();
+			// the hat is a single cuboid
+			RenderStats.vertices(6 * 4);
 		} catch(Exception e) {
 			WildfireGender.LOGGER.error("Failed to render breast layer", e);
 		}
@@ -0,0 +1,120 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import com.wildfire.render.WildfireModelRenderer.BreastModelBox;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Bounded cache of baked {@link BreastModelBox} geometry, keyed by the full set of dimensions used to build it.</p>
+ *
+ * <p>Feature renderers are shared between every entity they render, so without this, rendering a crowd of entities
+ * with different breast sizes or armor textures would rebuild the same geometry several times every frame.</p>
+ *
+ * @apiNote This must only be used from the render thread
+ */
+@Environment(EnvType.CLIENT)
+public final class ModelBoxCache {
+	// each distinct breast size bucket or armor texture only takes up a couple of entries, so this is plenty
+	private static final int MAX_SIZE = 128;
+
+	private static final Map<Key, BreastModelBox> CACHE = new LinkedHashMap<>(32, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, BreastModelBox> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	// reused for lookups, such that cache hits don't allocate
+	private static final Key LOOKUP = new Key();
+
+	private ModelBoxCache() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Get a breast box with the given dimensions, baking it if no such box is currently cached
+	 *
+	 * @see BreastModelBox#BreastModelBox(int, int, int, int, float, float, float, int, int, int, float, boolean)
+	 */
+	public static BreastModelBox getBreast(int tW, int tH, int texU, int texV, float x, float y, float z, int dx, int dy, int dz, float delta) {
+		LOOKUP.set(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta);
+		BreastModelBox box = CACHE.get(LOOKUP);
+		if(box == null) {
+			box = new BreastModelBox(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta, false);
+			CACHE.put(LOOKUP.copy(), box);
+		}
+		return box;
+	}
+
+	public static int size() {
+		return CACHE.size();
+	}
+
+	private static final class Key {
+		private int tW, tH, texU, texV, dx, dy, dz;
+		private float x, y, z, delta;
+
+		private void set(int tW, int tH, int texU, int texV, float x, float y, float z, int dx, int dy, int dz, float delta) {
+			this.tW = tW;
+			this.tH = tH;
+			this.texU = texU;
+			this.texV = texV;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.dx = dx;
+			this.dy = dy;
+			this.dz = dz;
+			this.delta = delta;
+		}
+
+		private Key copy() {
+			Key key = new Key();
+			key.set(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta);
+			return key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key other && tW == other.tW && tH == other.tH && texU == other.texU && texV == other.texV
+					&& dx == other.dx && dy == other.dy && dz == other.dz && Float.compare(x, other.x) == 0
+					&& Float.compare(y, other.y) == 0 && Float.compare(z, other.z) == 0 && Float.compare(delta, other.delta) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = tW;
+			result = 31 * result + tH;
+			result = 31 * result + texU;
+			result = 31 * result + texV;
+			result = 31 * result + dx;
+			result = 31 * result + dy;
+			result = 31 * result + dz;
+			result = 31 * result + Float.floatToIntBits(x);
+			result = 31 * result + Float.floatToIntBits(y);
+			result = 31 * result + Float.floatToIntBits(z);
+			result = 31 * result + Float.floatToIntBits(delta);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.render;
+
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.mixins.accessors.GameRendererAccessor;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.entity.state.LivingEntityRenderState;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * <p>Level of detail tiers for breast rendering, selected per entity each frame based on its distance from the
+ * camera, and roughly how large its breasts would appear on screen.</p>
+ *
+ * <p>The camera state and configured thresholds are captured once per frame when the world starts rendering
+ * through {@link #beginWorldRender(MinecraftClient)}; anything rendered outside the world (such as entities drawn
+ * in a GUI) always uses {@link #FULL} detail.</p>
+ */
+@Environment(EnvType.CLIENT)
+public enum RenderLod {
+	/**
+	 * Everything is rendered, including any overlay, armor trim and enchantment glint
+	 */
+	FULL,
+	/**
+	 * Both breasts are merged into a single box, and only the base skin & armor layers are rendered
+	 */
+	REDUCED,
+	/**
+	 * Nothing is rendered
+	 */
+	SKIP;
+
+	// rough height of a breast box in blocks, used to estimate its size on screen
+	private static final double FEATURE_SIZE = 5 / 16.0;
+	// breasts smaller than these many pixels on screen are rendered at a reduced detail, or skipped entirely
+	private static final double REDUCED_PIXELS = 8, SKIP_PIXELS = 1.5;
+
+	private static boolean enabled = false;
+	private static double reducedDistanceSq, skipDistanceSq;
+	private static double camX, camY, camZ;
+	// the field of view the world was last rendered with, in degrees
+	private static double fov = 70;
+	// how many pixels a feature of FEATURE_SIZE takes up on screen at a distance of one block
+	private static double pixelsAtOneBlock;
+
+	/**
+	 * Capture the current camera state and LOD thresholds for use with this frame
+	 */
+	public static void beginWorldRender(MinecraftClient client) {
+		Camera camera = client.gameRenderer.getCamera();
+		fov = camera.isReady()
+				? ((GameRendererAccessor) client.gameRenderer).invokeGetFov(camera, client.getRenderTickCounter().getTickDelta(true), true)
+				: client.options.getFov().getValue();
+		enabled = GlobalConfig.INSTANCE.get(GlobalConfig.RENDER_LOD) && camera.isReady();
+		if(!enabled) return;
+
+		double reducedDistance = GlobalConfig.INSTANCE.get(GlobalConfig.RENDER_LOD_REDUCED_DISTANCE);
+		double skipDistance = Math.max(reducedDistance, GlobalConfig.INSTANCE.get(GlobalConfig.RENDER_LOD_SKIP_DISTANCE));
+		reducedDistanceSq = reducedDistance * reducedDistance;
+		skipDistanceSq = skipDistance * skipDistance;
+
+		Vec3d pos = camera.getPos();
+		camX = pos.x;
+		camY = pos.y;
+		camZ = pos.z;
+
+		double tanHalfFov = Math.tan(Math.toRadians(fov) / 2);
+		pixelsAtOneBlock = FEATURE_SIZE * client.getWindow().getFramebufferHeight() / (2 * tanHalfFov);
+	}
+
+	public static void endWorldRender() {
+		enabled = false;
+	}
+
+	/**
+	 * @return The field of view the world was last rendered with in degrees, which unlike the one set in the game's
+	 *         options accounts for zooming in with a spyglass, or changes from movement speed
+	 */
+	public static double getFov() {
+		return fov;
+	}
+
+	/**
+	 * Select the level of detail to render the entity represented by the given render state with this frame
+	 */
+	public static RenderLod select(LivingEntityRenderState state) {
+		if(!enabled) {
+			return FULL;
+		}
+
+		double dx = state.x - camX;
+		double dy = state.y + state.height * 0.5 - camY;
+		double dz = state.z - camZ;
+		double distanceSq = dx * dx + dy * dy + dz * dz;
+		if(distanceSq > skipDistanceSq) {
+			return SKIP;
+		}
+
+		double pixels = pixelsAtOneBlock * state.ageScale / Math.sqrt(distanceSq);
+		if(pixels < SKIP_PIXELS) {
+			return SKIP;
+		}
+		return distanceSq > reducedDistanceSq || pixels < REDUCED_PIXELS ? REDUCED : FULL;
+	}
+}
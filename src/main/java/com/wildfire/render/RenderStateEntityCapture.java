@@ -25,4 +25,6 @@ import org.jetbrains.annotations.Nullable;
 public interface RenderStateEntityCapture {
 	@Nullable LivingEntity getEntity();
 	void setEntity(LivingEntity entity);
+
+	BreastRenderState getBreastRenderState();
 }
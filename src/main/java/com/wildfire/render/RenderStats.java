@@ -0,0 +1,230 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.wildfire.render;
+
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.physics.PhysicsWorld;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>Lightweight render thread instrumentation for the feature renderers added by the mod, which is only collected
+ * while {@link GlobalConfig#RENDER_STATS} is enabled.</p>
+ *
+ * <p>Counters are accumulated between {@link #beginFrame()} and {@link #endFrame()}, and are averaged into a new
+ * {@link Report} roughly once a second, which is then shown on the debug HUD or can be dumped to the game log.
+ * Every report also includes how many {@link PhysicsWorld physics slots} are awake or asleep as of when it was
+ * made.</p>
+ */
+@Environment(EnvType.CLIENT)
+public final class RenderStats {
+	private RenderStats() {
+		throw new UnsupportedOperationException();
+	}
+
+	public enum Feature {
+		BREASTS("Breasts"),
+		ARMOR("Armor"),
+		HOLIDAY("Holiday");
+
+		private final String displayName;
+
+		Feature(String displayName) {
+			this.displayName = displayName;
+		}
+	}
+
+	/**
+	 * Every early exit an entity can take in {@link GenderLayer#setupRender}, either from
+	 * {@link BreastRenderState#cull computing its render state} or from the layer itself
+	 */
+	public enum Cull {
+		/**
+		 * Breast rendering is toggled off entirely
+		 */
+		DISABLED,
+		/**
+		 * The entity isn't a type that breasts are rendered for
+		 */
+		UNSUPPORTED,
+		/**
+		 * There's no client player, such as while rendering entities in a menu
+		 */
+		NO_PLAYER,
+		/**
+		 * The entity is too far away, or too small on screen to be rendered; see {@link RenderLod#SKIP}
+		 */
+		LOD,
+		/**
+		 * The entity's armor hides its breasts, either always or because of its settings
+		 */
+		ARMOR,
+		/**
+		 * The entity's breasts are too small to render, such as if it can't have breasts at all
+		 */
+		TOO_SMALL,
+		/**
+		 * Computing the entity's render state threw an exception
+		 */
+		FAILED,
+		/**
+		 * The entity is invisible
+		 */
+		HIDDEN,
+		/**
+		 * The entity's chestplate doesn't cover its breasts; only used by {@link GenderArmorLayer}
+		 */
+		NOT_COVERED,
+		/**
+		 * The entity isn't wearing a chestplate with a model to render; only used by {@link GenderArmorLayer}
+		 */
+		NO_MODEL,
+		/**
+		 * The entity is an armor stand, and its armor doesn't copy breast settings; only used by {@link GenderArmorLayer}
+		 */
+		ARMOR_STAND
+	}
+
+	private static final int FEATURES = Feature.values().length, CULLS = Cull.values().length;
+	private static final long REPORT_INTERVAL = 1_000_000_000L;
+
+	private static boolean enabled = false;
+	private static @Nullable Feature current;
+
+	private static final long[] nanos = new long[FEATURES];
+	private static final long[] rendered = new long[FEATURES];
+	private static final long[] vertices = new long[FEATURES];
+	private static final long[] culled = new long[FEATURES * CULLS];
+	private static int frames = 0;
+	private static long windowStart = 0;
+
+	private static @Nullable Report report;
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return The most recently completed report, or {@code null} if none has been completed yet
+	 */
+	public static @Nullable Report getReport() {
+		return report;
+	}
+
+	public static void beginFrame() {
+		boolean shouldEnable = GlobalConfig.INSTANCE.get(GlobalConfig.RENDER_STATS);
+		if(shouldEnable != enabled) {
+			enabled = shouldEnable;
+			reset();
+			report = null;
+		}
+	}
+
+	public static void endFrame() {
+		current = null;
+		if(!enabled) return;
+
+		frames++;
+		long now = Util.getMeasuringTimeNano();
+		if(windowStart == 0) {
+			windowStart = now;
+		} else if(now - windowStart >= REPORT_INTERVAL) {
+			PhysicsWorld physics = PhysicsWorld.INSTANCE;
+			report = new Report(frames, nanos.clone(), rendered.clone(), vertices.clone(), culled.clone(),
+					physics.size(), physics.getAwakeCount(), physics.getSleepingCount());
+			reset();
+			windowStart = now;
+		}
+	}
+
+	private static void reset() {
+		Arrays.fill(nanos, 0);
+		Arrays.fill(rendered, 0);
+		Arrays.fill(vertices, 0);
+		Arrays.fill(culled, 0);
+		frames = 0;
+		windowStart = 0;
+	}
+
+	/**
+	 * Start timing a single render of the given feature; this must be paired with {@link #end(long)}
+	 *
+	 * @return The value to pass to {@link #end(long)}
+	 */
+	public static long begin(Feature feature) {
+		if(!enabled) return 0;
+		current = feature;
+		return System.nanoTime();
+	}
+
+	public static void end(long start) {
+		if(!enabled || current == null) return;
+		nanos[current.ordinal()] += System.nanoTime() - start;
+		current = null;
+	}
+
+	public static void rendered() {
+		if(enabled && current != null) rendered[current.ordinal()]++;
+	}
+
+	public static void culled(Cull reason) {
+		if(enabled && current != null) culled[current.ordinal() * CULLS + reason.ordinal()]++;
+	}
+
+	public static void vertices(int count) {
+		if(enabled && current != null) vertices[current.ordinal()] += count;
+	}
+
+	/**
+	 * Totals for every feature over a number of frames, along with the state of physics at the end of those frames
+	 */
+	public record Report(int frames, long[] nanos, long[] rendered, long[] vertices, long[] culled,
+	                     int physicsSlots, int physicsAwake, int physicsSleeping) {
+		/**
+		 * Format this report as human-readable lines, with every value being averaged per frame
+		 */
+		public List<String> lines() {
+			List<String> lines = new ArrayList<>(FEATURES + 2);
+			lines.add(String.format(Locale.ROOT, "Render Stats (per frame, %d frames)", frames));
+			for(Feature feature : Feature.values()) {
+				int i = feature.ordinal();
+				StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s: %.3f ms, %.1f rendered, %.0f vertices",
+						feature.displayName, nanos[i] / 1_000_000.0 / frames, (double) rendered[i] / frames, (double) vertices[i] / frames));
+				for(Cull cull : Cull.values()) {
+					long count = culled[i * CULLS + cull.ordinal()];
+					if(count > 0) {
+						line.append(String.format(Locale.ROOT, ", %.1f culled (%s)", (double) count / frames, cull.name().toLowerCase(Locale.ROOT)));
+					}
+				}
+				lines.add(line.toString());
+			}
+			lines.add(String.format(Locale.ROOT, "Physics: %d slots, %d stepped last tick, %d asleep",
+					physicsSlots, physicsAwake, physicsSleeping));
+			return lines;
+		}
+	}
+}
@@ -30,7 +30,19 @@ public final class WildfireModelRenderer {
 	}
 
 	public static class ModelBox {
+		/**
+		 * Number of floats used for each quad in {@link #vertexData}
+		 */
+		public static final int QUAD_STRIDE = 3 + 4 * 5;
+
 		public final WildfireModelRenderer.TexturedQuad[] quads;
+		/**
+		 * <p>Every quad in this box baked into a single flat array, for use when emitting vertices.</p>
+		 *
+		 * <p>Each quad is laid out as its normal ({@code x, y, z}), followed by each of its 4 vertices as
+		 * {@code x, y, z, u, v}; vertex positions are already scaled down from pixels to blocks.</p>
+		 */
+		public final float[] vertexData;
 		public final float posX1;
 		public final float posY1;
 		public final float posZ1;
@@ -78,6 +90,25 @@ public final class WildfireModelRenderer {
 				new PositionTextureVertex(x, f1, f2, 8.0F, 0.0F),
 				new PositionTextureVertex(x, y, z, 0.0F, 0.0F)
 			);
+			this.vertexData = bake(this.quads);
+		}
+
+		private static float[] bake(TexturedQuad[] quads) {
+			float[] data = new float[quads.length * QUAD_STRIDE];
+			int i = 0;
+			for(TexturedQuad quad : quads) {
+				data[i++] = quad.normal.x;
+				data[i++] = quad.normal.y;
+				data[i++] = quad.normal.z;
+				for(PositionTextureVertex vertex : quad.vertexPositions) {
+					data[i++] = vertex.x() / 16.0F;
+					data[i++] = vertex.y() / 16.0F;
+					data[i++] = vertex.z() / 16.0F;
+					data[i++] = vertex.u();
+					data[i++] = vertex.v();
+				}
+			}
+			return data;
 		}
 
 		protected void initQuads(int tW, int tH, int texU, int texV, int dx, int dy, int dz, boolean mirror, boolean extra, PositionTextureVertex vertex,
@@ -18,11 +18,14 @@
 
 package com.wildfire.resources;
 
+import com.mojang.serialization.JsonOps;
 import com.wildfire.api.IGenderArmor;
 import com.wildfire.main.WildfireGender;
+import com.wildfire.render.ArmorRenderPlan;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
+import net.fabricmc.fabric.api.resource.ResourceReloadListenerKeys;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.EquippableComponent;
 import net.minecraft.item.ItemStack;
@@ -30,23 +33,38 @@ import net.minecraft.registry.RegistryKey;
 import net.minecraft.resource.JsonDataLoader;
 import net.minecraft.resource.ResourceFinder;
 import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.SinglePreparationResourceReloader;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Environment(EnvType.CLIENT)
-public final class GenderArmorResourceManager extends JsonDataLoader<IGenderArmor> implements IdentifiableResourceReloadListener {
+public final class GenderArmorResourceManager extends SinglePreparationResourceReloader<GenderArmorResourceManager.Prepared> implements IdentifiableResourceReloadListener {
 	private GenderArmorResourceManager() {
-		super(IGenderArmor.CODEC, ResourceFinder.json("wildfire_gender_data"));
 	}
 
 	public static final GenderArmorResourceManager INSTANCE = new GenderArmorResourceManager();
+	// EquipmentModel.Layer#getFullTextureId always resolves armor layer textures under this path
+	private static final String EQUIPMENT_TEXTURES = "textures/entity/equipment";
+	private static final ResourceFinder ARMOR_DATA = ResourceFinder.json("wildfire_gender_data");
 	private @Unmodifiable Map<Identifier, IGenderArmor> configs = Map.of();
+	private @Unmodifiable Set<Identifier> equipmentTextures = Set.of();
+
+	/**
+	 * @param configs           Armor data, by equipment asset id
+	 * @param equipmentTextures Every texture under {@code textures/entity/equipment}
+	 */
+	record Prepared(Map<Identifier, IGenderArmor> configs, Set<Identifier> equipmentTextures) {
+	}
 
 	public static @Nullable IGenderArmor get(Identifier model) {
 		return INSTANCE.configs.get(model);
@@ -59,13 +77,43 @@ public final class GenderArmorResourceManager extends JsonDataLoader<IGenderArmo
 				.map(GenderArmorResourceManager::get);
 	}
 
+	/**
+	 * Check if the given equipment texture exists in the currently loaded resource packs
+	 *
+	 * @apiNote This only covers textures under {@code textures/entity/equipment}, and is rebuilt on every resource reload;
+	 *          as such, this never does any I/O itself, and is safe to call while rendering.
+	 */
+	public static boolean textureExists(Identifier texture) {
+		return INSTANCE.equipmentTextures.contains(texture);
+	}
+
 	@Override
 	public Identifier getFabricId() {
 		return Identifier.of(WildfireGender.MODID, "armor_data");
 	}
 
 	@Override
-	protected void apply(Map<Identifier, IGenderArmor> prepared, ResourceManager manager, Profiler profiler) {
-		this.configs = Collections.unmodifiableMap(prepared);
+	public Collection<Identifier> getFabricDependencies() {
+		// ArmorRenderPlan holds onto models and atlas sprites, so this must only invalidate it once those have been
+		// reloaded; vanilla's equipment model loader doesn't have a key of its own, but is always ordered before any
+		// modded reload listeners.
+		return List.of(ResourceReloadListenerKeys.MODELS, ResourceReloadListenerKeys.TEXTURES);
+	}
+
+	@Override
+	protected Prepared prepare(ResourceManager manager, Profiler profiler) {
+		Map<Identifier, IGenderArmor> configs = new HashMap<>();
+		JsonDataLoader.load(manager, ARMOR_DATA, JsonOps.INSTANCE, IGenderArmor.CODEC, configs);
+		// this runs on a worker thread, which lets us avoid probing for textures while rendering later
+		Set<Identifier> textures = Set.copyOf(manager.findResources(EQUIPMENT_TEXTURES, id -> id.getPath().endsWith(".png")).keySet());
+		return new Prepared(configs, textures);
+	}
+
+	@Override
+	protected void apply(Prepared prepared, ResourceManager manager, Profiler profiler) {
+		this.configs = Collections.unmodifiableMap(prepared.configs());
+		this.equipmentTextures = prepared.equipmentTextures();
+		// armor render plans reference textures and sprites from the previously loaded resources
+		ArmorRenderPlan.invalidate();
 	}
 }